@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A controller generating a fixed number of device events per poll without allocation.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+class BenchmarkController extends PollingController {
+
+    static class BenchmarkComponent extends PollingComponent {
+
+        private final boolean relative;
+        private final boolean analog;
+
+        BenchmarkComponent(Identifier id, boolean relative, boolean analog) {
+            super(id.getName(), id);
+            this.relative = relative;
+            this.analog = analog;
+        }
+
+        @Override
+        public boolean isRelative() {
+            return relative;
+        }
+
+        @Override
+        public boolean isAnalog() {
+            return analog;
+        }
+
+        @Override
+        protected float poll() {
+            return getEventValue();
+        }
+    }
+
+    /** axes, relative axes and buttons like a gamepad with a keyboard attached, without the dense indices */
+    private static Component[] createComponents() {
+        List<Component> components = new ArrayList<>();
+        for (Component.Identifier.Axis id : new Component.Identifier.Axis[] {
+                Component.Identifier.Axis.X, Component.Identifier.Axis.Y, Component.Identifier.Axis.Z,
+                Component.Identifier.Axis.RX, Component.Identifier.Axis.RY, Component.Identifier.Axis.RZ})
+            components.add(new BenchmarkComponent(id, false, true));
+        components.add(new BenchmarkComponent(Component.Identifier.Axis.SLIDER, true, true));
+        components.add(new BenchmarkComponent(Component.Identifier.Axis.POV, false, false));
+        for (int i = 0; i < 16; i++)
+            components.add(new BenchmarkComponent(Component.Identifier.Button.values()[i], false, false));
+        for (Component.Identifier.Key id : Component.Identifier.Key.values())
+            components.add(new BenchmarkComponent(id, false, false));
+        return components.toArray(Component[]::new);
+    }
+
+    private final Component[] components;
+    private final int eventsPerPoll;
+    private int remaining;
+    private long sequence;
+
+    /**
+     * @param eventsPerPoll device events delivered by each poll,
+     *                      cycling through the components with changing values
+     */
+    BenchmarkController(int eventsPerPoll) {
+        super("benchmark", createComponents(), new Controller[0], new Rumbler[0]);
+        this.components = getComponents();
+        this.eventsPerPoll = eventsPerPoll;
+    }
+
+    @Override
+    protected ClockDomain createClockDomain() {
+        return ClockDomain.MONOTONIC;
+    }
+
+    @Override
+    protected void pollDevice() {
+        remaining = eventsPerPoll;
+    }
+
+    @Override
+    protected boolean getNextDeviceEvent(Event event) {
+        if (remaining == 0)
+            return false;
+        remaining--;
+        long n = sequence++;
+        Component component = components[(int) (n % components.length)];
+        event.set(component, (n / components.length) % 2 == 0 ? 1f : 0.5f, n);
+        return true;
+    }
+
+    @Override
+    public void output(AbstractController.Report report) {
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Adds a batch of events to an {@link EventQueue} and drains it.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class EventQueueBenchmark {
+
+    static final int BATCH = 64;
+
+    private Component[] components;
+    private EventQueue queue;
+    private final Event event = new Event();
+
+    @Setup
+    public void setup() {
+        // the components of a controller have the dense indices the queue is laid out by
+        components = new BenchmarkController(0).getComponents();
+        queue = new EventQueue(BATCH, EventQueue.OverflowPolicy.DROP_NEWEST, components);
+    }
+
+    private void fill() {
+        for (int i = 0; i < BATCH; i++)
+            queue.offer(components[i % components.length], i, i);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void addAndGetNextEvent(Blackhole bh) {
+        fill();
+        while (queue.getNextEvent(event))
+            bh.consume(event.getValue());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void addAndDrainTo(Blackhole bh) {
+        fill();
+        queue.drainTo((component, value, nanos) -> bh.consume(value), Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * {@link AbstractController#getComponent(Component.Identifier)} lookups of present and absent identifiers.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GetComponentBenchmark {
+
+    static final Component.Identifier[] IDS = {
+            Component.Identifier.Axis.X,
+            Component.Identifier.Axis.RZ,
+            Component.Identifier.Axis.POV,
+            Component.Identifier.Axis.X_VELOCITY, // absent
+            Component.Identifier.Button._0,
+            Component.Identifier.Button._15,
+            Component.Identifier.Button.TRIGGER, // absent
+            Component.Identifier.Key.A,
+            Component.Identifier.Key.ESCAPE,
+            Component.Identifier.Key.UNLABELED,
+    };
+
+    private AbstractController controller;
+
+    @Setup
+    public void setup() {
+        controller = new BenchmarkController(0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void getComponent(Blackhole bh) {
+        for (Component.Identifier id : IDS)
+            bh.consume(controller.getComponent(id));
+    }
+}
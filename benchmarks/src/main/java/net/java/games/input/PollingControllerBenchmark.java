@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * {@link PollingController#poll()} of a synthetic controller, the queued events are drained.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PollingControllerBenchmark {
+
+    @Param({"0", "8", "32"})
+    public int eventsPerPoll;
+
+    @Param({"false", "true"})
+    public boolean coalescing;
+
+    private BenchmarkController controller;
+    private EventQueue queue;
+    private final Event event = new Event();
+
+    @Setup
+    public void setup() {
+        controller = new BenchmarkController(eventsPerPoll);
+        controller.setEventQueueSize(64);
+        controller.setEventCoalescing(coalescing);
+        queue = controller.getEventQueue();
+    }
+
+    @Benchmark
+    public void poll(Blackhole bh) {
+        bh.consume(controller.poll());
+        while (queue.getNextEvent(event))
+            bh.consume(event.getNanos());
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.linux;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static net.java.games.input.linux.LinuxIO.O_NONBLOCK;
+import static net.java.games.input.linux.LinuxIO.O_RDONLY;
+
+
+/**
+ * The per call overhead of the {@link LinuxDeviceIO} backends.
+ * <p>
+ * /dev/zero stands in for an event device always ready, a pipe for an idle one
+ * (read(2) fails with EAGAIN as a device polled without events), FIONREAD on
+ * the pipe for an ioctl(2) like EVIOCGKEY.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class LinuxDeviceIOBenchmark {
+
+    /** number of bytes available, see ioctl_tty(2) */
+    private static final long FIONREAD = 0x541b;
+
+    @Param({"jna", "direct"})
+    public String backend;
+
+    private LinuxDeviceIO io;
+    private int zero;
+    private final int[] pipe = {-1, -1};
+    private Memory buffer;
+
+    @Setup
+    public void setup() throws IOException {
+        io = LinuxDeviceIO.Backend.select(backend);
+        zero = LinuxIO.INSTANCE.open64("/dev/zero", O_RDONLY | O_NONBLOCK);
+        if (zero == -1 || LinuxIO.INSTANCE.pipe2(pipe, O_NONBLOCK) == -1)
+            throw new IOException("setup: " + Native.getLastError());
+        buffer = new Memory((long) LinuxEventBuffer.EVENT_SIZE * LinuxEventBuffer.DEFAULT_CAPACITY);
+    }
+
+    @TearDown
+    public void tearDown() {
+        LinuxIO.INSTANCE.close(zero);
+        LinuxIO.INSTANCE.close(pipe[0]);
+        LinuxIO.INSTANCE.close(pipe[1]);
+    }
+
+    /** one event per read(2) */
+    @Benchmark
+    public long readOne() {
+        return io.read(zero, buffer, LinuxEventBuffer.EVENT_SIZE);
+    }
+
+    /** a batch per read(2) */
+    @Benchmark
+    public long readBatch() {
+        return io.read(zero, buffer, buffer.size());
+    }
+
+    /** a device polled without events */
+    @Benchmark
+    public long readIdle() {
+        return io.read(pipe[0], buffer, LinuxEventBuffer.EVENT_SIZE);
+    }
+
+    @Benchmark
+    public int ioctl() {
+        return io.ioctl(pipe[0], FIONREAD, buffer);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb.parser;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * {@link ArrayFieldDecoder} over reports alternating two sets of the usages on.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ArrayFieldDecoderBenchmark {
+
+    @Param({"bootKeyboard", "buttonPanel"})
+    public String descriptor;
+
+    private ArrayFieldDecoder decoder;
+    private byte[][] reports;
+    private int index;
+    private ArrayFieldDecoder.Listener listener;
+    /** consumes the events */
+    private int sum;
+
+    @Setup
+    public void setup() {
+        decoder = ArrayFieldDecoderTest.compile(switch (descriptor) {
+            case "bootKeyboard" -> ArrayFieldDecoderTest.bootKeyboard;
+            case "buttonPanel" -> ArrayFieldDecoderTest.buttonPanel;
+            default -> throw new IllegalArgumentException(descriptor);
+        });
+        reports = switch (descriptor) {
+            case "bootKeyboard" -> new byte[][] {{0, 0, 0, 0x04, 0x05, 0x06, 0, 0, 0}, {0, 0, 0, 0x05, 0x06, 0x07, 0x08, 0, 0}};
+            default -> new byte[][] {{0, 1, 2, 64, (byte) 128}, {0, 2, 3, 65, (byte) 128}};
+        };
+        listener = (usage, on) -> sum += on ? usage : -usage;
+    }
+
+    /** every report changes some usages */
+    @Benchmark
+    public int decode() {
+        index ^= 1;
+        decoder.decode(reports[index], listener);
+        return sum;
+    }
+
+    /** a report repeated without any change */
+    @Benchmark
+    public int decodeUnchanged() {
+        return decoder.decode(reports[0], listener);
+    }
+}
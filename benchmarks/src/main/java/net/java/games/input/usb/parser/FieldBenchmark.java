@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb.parser;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * {@link Field#getValue(byte[])} and {@link Field#setValue(byte[], int)} over all the fields of a report,
+ * compared with a {@link ReportDecoder} and a {@link ReportEncoder} of the same report.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class FieldBenchmark {
+
+    @Param({"cheapGamepad", "ds4"})
+    public String descriptor;
+
+    private Field[] fields;
+    private byte[] report;
+    private ReportDecoder decoder;
+    private float[] values;
+    /** the same as the report */
+    private byte[] previous;
+    private int[] changed;
+    private ReportEncoder encoder;
+    private int[] ints;
+
+    @Setup
+    public void setup() {
+        byte[] data = HidParserBenchmark.descriptor(descriptor);
+        HidParser parser = new HidParser();
+        parser.parse(data, data.length);
+        Report input = parser.getReports().stream()
+                .filter(r -> r.getType() == HidParser.HID_INPUT_REPORT).findFirst().orElseThrow();
+        decoder = ReportDecoder.compile(input);
+        fields = new Field[decoder.size()];
+        for (int i = 0; i < fields.length; i++)
+            fields[i] = decoder.getField(i);
+        values = new float[decoder.size()];
+        report = new byte[decoder.getLength()];
+        new Random(0).nextBytes(report);
+        previous = report.clone();
+        changed = new int[decoder.size()];
+        encoder = ReportEncoder.compile(input);
+        ints = new int[encoder.size()];
+        for (int i = 0; i < ints.length; i++)
+            ints[i] = i;
+    }
+
+    @Benchmark
+    public void getValue(Blackhole bh) {
+        for (Field field : fields)
+            bh.consume(field.getValue(report));
+    }
+
+    @Benchmark
+    public float[] decode() {
+        decoder.decode(report, values);
+        return values;
+    }
+
+    /** an idle but chatty device */
+    @Benchmark
+    public int diffUnchanged() {
+        return decoder.diff(previous, report, changed);
+    }
+
+    @Benchmark
+    public void setValue() {
+        for (int i = 0; i < fields.length; i++)
+            fields[i].setValue(report, i);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        encoder.encode(ints, report);
+        return report;
+    }
+}
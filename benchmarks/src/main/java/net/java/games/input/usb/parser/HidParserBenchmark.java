@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * {@link HidParser#parse(byte[], int)} of the descriptors in {@link HidParserTestData}
+ * and of a DualShock 4 descriptor, compared with a {@link HidDescriptorCache} hit.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class HidParserBenchmark {
+
+    @Param({"standardMouse", "cheapGamepad", "opticalMouse", "ds4"})
+    public String descriptor;
+
+    byte[] data;
+    private HidDescriptorCache cache;
+
+    /** @param name a descriptor in {@link HidParserTestData} without the "Descriptor" suffix or "ds4" */
+    static byte[] descriptor(String name) {
+        int[] testData = switch (name) {
+            case "standardMouse" -> HidParserTestData.standardMouseDescriptor;
+            case "cheapGamepad" -> HidParserTestData.cheapGamepad;
+            case "opticalMouse" -> HidParserTestData.opticalMouse;
+            case "ds4" -> null;
+            default -> throw new IllegalArgumentException(name);
+        };
+        if (testData == null) {
+            try (InputStream is = HidParserBenchmark.class.getResourceAsStream("/ds4_ir_desc.dat")) {
+                return is.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        byte[] descriptor = new byte[testData.length];
+        for (int i = 0; i < descriptor.length; i++)
+            descriptor[i] = (byte) testData[i];
+        return descriptor;
+    }
+
+    @Setup
+    public void setup() {
+        data = descriptor(descriptor);
+        cache = new HidDescriptorCache(4, null);
+    }
+
+    @Benchmark
+    public Collection parse() {
+        return new HidParser().parse(data, data.length);
+    }
+
+    /** bulk enumeration, the throughput should scale with the cores */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Threads(4)
+    public Collection parse4Threads() {
+        return new HidParser().parse(data, data.length);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Threads(Threads.MAX)
+    public Collection parseMaxThreads() {
+        return new HidParser().parse(data, data.length);
+    }
+
+    /** the total input report bits, without building the tree */
+    @Benchmark
+    public int visit() {
+        int[] bits = new int[1];
+        new HidParser().visit(data, data.length, new HidDescriptorVisitor() {
+            @Override public boolean field(int reportType, int flags, int bitOffset, HidParser.Global global, int[] usages, int usageCount) {
+                if (reportType == HidParser.HID_INPUT_REPORT)
+                    bits[0] += global.getReportSize() * global.getReportCount();
+                return true;
+            }
+        });
+        return bits[0];
+    }
+
+    /** the usage of the first application collection, stopping there */
+    @Benchmark
+    public int visitFirstApplication() {
+        int[] usage = new int[1];
+        new HidParser().visit(data, data.length, new HidDescriptorVisitor() {
+            @Override public boolean startCollection(int type, int usagePair, int depth) {
+                usage[0] = usagePair;
+                return false;
+            }
+        });
+        return usage[0];
+    }
+
+    /** an identical device attached again, hashing instead of parsing */
+    @Benchmark
+    public HidDescriptorCache.Entry cacheHit() {
+        return cache.get(data, 0, 0);
+    }
+}
@@ -47,6 +47,9 @@ public abstract class AbstractComponent implements Component {
 
     private float eventValue;
 
+    /** position in the components of the controller, -1 until the controller is constructed */
+    private int index = -1;
+
     /**
      * Protected constructor
      *
@@ -88,6 +91,21 @@ public abstract class AbstractComponent implements Component {
         return 0.0f;
     }
 
+    /**
+     * Returns the dense index of this component, that is the position in
+     * {@link Controller#getComponents()} of the controller it belongs to.
+     *
+     * @return -1 if the component does not belong to a controller yet
+     */
+    public final int getIndex() {
+        return index;
+    }
+
+    /** called by the controller */
+    final void setIndex(int index) {
+        this.index = index;
+    }
+
     /** */
     protected final float getEventValue() {
         return eventValue;
@@ -33,10 +33,10 @@
 package net.java.games.input;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 /**
@@ -66,7 +66,14 @@ public abstract class AbstractController implements Controller {
     private final Rumbler[] rumblers;
 
     /**
-     * Map from Component.Identifiers to Components
+     * Components by the ordinal of their Component.Identifier.Axis, Button and Key
+     */
+    private final Component[] axes = new Component[Component.Identifier.Axis.values().length];
+    private final Component[] buttons = new Component[Component.Identifier.Button.values().length];
+    private final Component[] keys = new Component[Component.Identifier.Key.values().length];
+
+    /**
+     * Map from other Component.Identifiers to Components
      */
     private final Map<Component.Identifier, Component> idToComponents = new HashMap<>();
 
@@ -86,7 +93,17 @@ public abstract class AbstractController implements Controller {
         this.rumblers = rumblers;
         // process from last to first to let earlier listed Components get higher priority
         for (int i = components.length - 1; i >= 0; i--) {
-            idToComponents.put(components[i].getIdentifier(), components[i]);
+            if (components[i] instanceof AbstractComponent component)
+                component.setIndex(i);
+            Component.Identifier id = components[i].getIdentifier();
+            if (id instanceof Component.Identifier.Axis axis)
+                axes[axis.ordinal()] = components[i];
+            else if (id instanceof Component.Identifier.Button button)
+                buttons[button.ordinal()] = components[i];
+            else if (id instanceof Component.Identifier.Key key)
+                keys[key.ordinal()] = components[i];
+            else
+                idToComponents.put(id, components[i]);
         }
     }
 
@@ -121,7 +138,14 @@ public abstract class AbstractController implements Controller {
      */
     @Override
     public final Component getComponent(Component.Identifier id) {
-        return idToComponents.get(id);
+        if (id instanceof Component.Identifier.Axis axis)
+            return axes[axis.ordinal()];
+        else if (id instanceof Component.Identifier.Button button)
+            return buttons[button.ordinal()];
+        else if (id instanceof Component.Identifier.Key key)
+            return keys[key.ordinal()];
+        else
+            return idToComponents.get(id);
     }
 
     /**
@@ -139,6 +163,7 @@ public abstract class AbstractController implements Controller {
     @Override
     public void open() throws IOException {
         isOpen = true;
+        pushModeChanged();
     }
 
     @Override
@@ -149,6 +174,7 @@ public abstract class AbstractController implements Controller {
     @Override
     public void close() throws IOException {
         isOpen = false;
+        pushModeChanged();
     }
 
     /**
@@ -195,7 +221,7 @@ public abstract class AbstractController implements Controller {
     }
 
     /** input event listeners */
-    private final List<InputEventListener> listeners = new ArrayList<>();
+    private final List<InputEventListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Adds an input event listener.
@@ -203,11 +229,43 @@ public abstract class AbstractController implements Controller {
     @Override
     public void addInputEventListener(InputEventListener listener) {
         listeners.add(listener);
+        pushModeChanged();
+    }
+
+    /**
+     * Removes an input event listener.
+     */
+    @Override
+    public void removeInputEventListener(InputEventListener listener) {
+        if (listeners.remove(listener))
+            pushModeChanged();
+    }
+
+    /** @return true if any input event listener is added */
+    protected final boolean hasInputEventListeners() {
+        return !listeners.isEmpty();
+    }
+
+    /**
+     * @return true while the controller is open and has input event listeners,
+     * i.e. the events are pushed to the listeners instead of being pulled by the application
+     */
+    protected final boolean isPushMode() {
+        return isOpen && hasInputEventListeners();
+    }
+
+    /**
+     * Called when {@link #isPushMode()} may have changed. A plugin which delivers
+     * the events from its own thread starts or stops it here, it must not poll
+     * the controller in pull mode, the application does.
+     */
+    protected void pushModeChanged() {
     }
 
     /** fire an event */
     protected void fireOnInput(InputEvent event) {
-        listeners.forEach(l -> l.onInput(event));
+        for (InputEventListener listener : listeners)
+            listener.onInput(event);
     }
 
     /** data structure to output */
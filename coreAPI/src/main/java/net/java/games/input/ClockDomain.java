@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input;
+
+import java.util.StringJoiner;
+
+
+/**
+ * Maps the timestamps of one backend clock onto the {@link System#nanoTime()} domain.
+ * <p>
+ * A device timestamp can never be later than the moment the event is read,
+ * so the offset between the two clocks is estimated as the minimum of
+ * {@code nanoTime - raw} over the observed events. To follow clock drift the
+ * minimum is allowed to grow by {@link #maxDriftPpm} of the elapsed time,
+ * and a jump of the raw clock (e.g. a wall clock being set) larger than
+ * {@link #STEP_NANOS} restarts the estimation.
+ * <p>
+ * An instance is not thread safe, each controller owns its own.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+public class ClockDomain {
+
+    /** raw timestamps are already {@link System#nanoTime()} */
+    public static final ClockDomain MONOTONIC = new ClockDomain(0) {
+        @Override
+        public long toNanoTime(long rawNanos) {
+            return rawNanos;
+        }
+    };
+
+    /** an offset grown by this much at once is a step of the raw clock */
+    static final long STEP_NANOS = 500_000_000L;
+
+    /** allowed drift between the clocks in parts per million */
+    private final long maxDriftPpm;
+
+    private boolean initialized;
+    private long offset;
+    private long lastNanoTime;
+
+    /** with 100 ppm allowed drift */
+    public ClockDomain() {
+        this(100);
+    }
+
+    /**
+     * @param maxDriftPpm allowed drift between the clocks in parts per million
+     */
+    public ClockDomain(long maxDriftPpm) {
+        this.maxDriftPpm = maxDriftPpm;
+    }
+
+    /**
+     * Observes a device timestamp at the time it is read and maps it.
+     *
+     * @param rawNanos device timestamp in nanoseconds of the backend clock
+     * @return the time in the {@link System#nanoTime()} domain, never later than now
+     */
+    public long toNanoTime(long rawNanos) {
+        return toNanoTime(rawNanos, System.nanoTime());
+    }
+
+    /** @param now {@link System#nanoTime()} when the event was read */
+    long toNanoTime(long rawNanos, long now) {
+        long candidate = now - rawNanos;
+        if (!initialized || candidate - offset > STEP_NANOS) {
+            initialized = true;
+            offset = candidate;
+        } else {
+            long allowance = (now - lastNanoTime) * maxDriftPpm / 1_000_000L;
+            offset = Math.min(candidate, offset + allowance);
+        }
+        lastNanoTime = now;
+        return rawNanos + offset;
+    }
+
+    /** @return the current estimate of {@code nanoTime - raw} */
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", ClockDomain.class.getSimpleName() + "[", "]")
+                .add("maxDriftPpm=" + maxDriftPpm)
+                .add("offset=" + offset)
+                .toString();
+    }
+}
@@ -122,6 +122,12 @@ public interface Controller {
      */
     void addInputEventListener(InputEventListener listener);
 
+    /**
+     * Removes a input event listener.
+     */
+    default void removeInputEventListener(InputEventListener listener) {
+    }
+
     /**
      * Types of controller objects.
      */
@@ -85,6 +85,31 @@ public interface ControllerEnvironment {
      */
     void removeControllerListener(ControllerListener l);
 
+    /**
+     * Polls every controller of this environment in one pass and returns their
+     * events merged in the order of {@link Event#getNanos()}.
+     * The returned queue is the same instance on every call.
+     */
+    default MergedEventQueue pollAll() {
+        return MergedEventQueue.of(this).poll();
+    }
+
+    /**
+     * Blocks until some open controller of this environment has new events,
+     * so that an application polls after waking up instead of polling blindly.
+     * An environment which cannot wait for its devices sleeps a positive timeout and
+     * returns true as if there were events, this is the default.
+     *
+     * @param timeout milliseconds, negative to wait forever
+     * @return false when timed out
+     * @throws IllegalStateException the environment stopped waiting for its devices by an error
+     */
+    default boolean awaitEvents(long timeout) throws InterruptedException {
+        if (timeout > 0)
+            Thread.sleep(timeout);
+        return true;
+    }
+
     /** to avoid conflict we can specify package patterns to exclude */
     static boolean toBeExcluded(String packageName) {
         String prop = System.getProperty("net.java.games.input.ControllerEnvironment.excludes", "");
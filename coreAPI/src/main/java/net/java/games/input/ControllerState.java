@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+
+/**
+ * The values of all components of a controller at the end of one poll.
+ * <p>
+ * A reader owns its instance and fills it by {@link PollingController#getState(ControllerState)},
+ * the values never change after that until the reader fills it again.
+ * The controller keeps three more instances internally as triple buffers,
+ * one is written by the polling thread, one is copied by the readers, and
+ * the last one is passed between them.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+public final class ControllerState {
+
+    private final float[] values;
+    private long sequence;
+    private long nanos;
+
+    /**
+     * @param controller the controller to read the state of
+     */
+    public ControllerState(Controller controller) {
+        this(controller.getComponents().length);
+    }
+
+    ControllerState(int size) {
+        values = new float[size];
+    }
+
+    /** @return the number of values, same as the number of components */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @param index the dense index of the component
+     * @return the value of the component
+     */
+    public float getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * @param component a component of the controller
+     * @return the value of the component
+     * @throws IllegalArgumentException the component has no dense index
+     */
+    public float getValue(Component component) {
+        if (!(component instanceof AbstractComponent c) || c.getIndex() < 0)
+            throw new IllegalArgumentException("no index: " + component);
+        return values[c.getIndex()];
+    }
+
+    /**
+     * @param dst at least as long as {@link #size()}
+     */
+    public void copyTo(float[] dst) {
+        System.arraycopy(values, 0, dst, 0, values.length);
+    }
+
+    /** @return the number of polls of the controller when this state was published, 0 if never */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /** @return the {@link System#nanoTime()} when this state was published */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /** writer side, fills this buffer */
+    void write(float[] values, long sequence, long nanos) {
+        System.arraycopy(values, 0, this.values, 0, this.values.length);
+        this.sequence = sequence;
+        this.nanos = nanos;
+    }
+
+    /** reader side, copies this buffer into {@code dst} */
+    void readTo(ControllerState dst) {
+        System.arraycopy(values, 0, dst.values, 0, Math.min(values.length, dst.values.length));
+        dst.sequence = sequence;
+        dst.nanos = nanos;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", ControllerState.class.getSimpleName() + "[", "]")
+                .add("sequence=" + sequence)
+                .add("nanos=" + nanos)
+                .add("values=" + Arrays.toString(values))
+                .toString();
+    }
+}
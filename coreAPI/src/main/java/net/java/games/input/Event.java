@@ -38,15 +38,26 @@ public final class Event {
     private Component component;
     private float value;
     private long nanos;
+    private long rawNanos;
 
     public void set(Event other) {
-        this.set(other.getComponent(), other.getValue(), other.getNanos());
+        this.set(other.getComponent(), other.getValue(), other.getNanos(), other.getRawNanos());
     }
 
+    /** the raw device time is the same as the time */
     public void set(Component component, float value, long nanos) {
+        set(component, value, nanos, nanos);
+    }
+
+    /**
+     * @param nanos normalized time
+     * @param rawNanos device time
+     */
+    public void set(Component component, float value, long nanos, long rawNanos) {
         this.component = component;
         this.value = value;
         this.nanos = nanos;
+        this.rawNanos = rawNanos;
     }
 
     public Component getComponent() {
@@ -61,11 +72,24 @@ public final class Event {
      * Return the time the event happened, in nanoseconds.
      * The time is relative and therefore can only be used
      * to compare with other event times.
+     * <p>
+     * Events queued by a {@link PollingController} are normalized to the
+     * {@link System#nanoTime()} domain, so the time can also be compared with
+     * {@link System#nanoTime()} to measure latency.
+     *
+     * @see ClockDomain
      */
     public long getNanos() {
         return nanos;
     }
 
+    /**
+     * Return the time the event happened, in nanoseconds of the clock of the device or backend.
+     */
+    public long getRawNanos() {
+        return rawNanos;
+    }
+
     public String toString() {
         return "Event: component = " + component + " | value = " + value;
     }
@@ -32,37 +32,387 @@
 
 package net.java.games.input;
 
-
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 
 /**
  * A FIFO queue for input events.
+ * <p>
+ * The queue is a lock-free single-producer/single-consumer ring buffer.
+ * Events are not stored as {@link Event} objects but as parallel primitive
+ * arrays (component index, value, nanos), and the capacity is rounded up to
+ * a power of two so that slots are addressed by masking.
+ * <p>
+ * At most one thread may add events and at most one thread may take events
+ * at the same time. The polling thread of a controller is usually the producer.
+ * <p>
+ * What happens when the queue is full is decided by an {@link OverflowPolicy},
+ * lost and merged events are counted.
  */
 @Deprecated
 public final class EventQueue {
 
-    private final Event[] queue;
+    /**
+     * Receives events drained by {@link #drainTo(Sink, int)}.
+     */
+    @FunctionalInterface
+    public interface Sink {
+
+        /** called once per drained event, in queue order */
+        void accept(Component component, float value, long nanos);
+    }
+
+    /**
+     * What to do with an event offered to a full queue.
+     *
+     * @param type the kind of policy
+     * @param limit maximum capacity for {@link Type#GROW}, rounded down to a power of two
+     * @param timeoutNanos maximum wait for {@link Type#BLOCK}
+     */
+    public record OverflowPolicy(Type type, int limit, long timeoutNanos) {
+
+        public enum Type {
+            /** the oldest queued event is dropped to make room */
+            DROP_OLDEST,
+            /** the offered event is dropped */
+            DROP_NEWEST,
+            /**
+             * the offered event is merged into a pending event of the same component,
+             * relative values are summed, others keep the latest value.
+             * pending events enter the queue in order as soon as there is room.
+             */
+            COALESCE,
+            /** the queue grows up to the limit, then the offered event is dropped */
+            GROW,
+            /** the producer waits for room up to the timeout, then the offered event is dropped */
+            BLOCK
+        }
+
+        /** the traditional behavior */
+        public static final OverflowPolicy DROP_NEWEST = new OverflowPolicy(Type.DROP_NEWEST, 0, 0);
+        public static final OverflowPolicy DROP_OLDEST = new OverflowPolicy(Type.DROP_OLDEST, 0, 0);
+        public static final OverflowPolicy COALESCE = new OverflowPolicy(Type.COALESCE, 0, 0);
+
+        /** @param limit maximum number of events the queue may grow to */
+        public static OverflowPolicy grow(int limit) {
+            return new OverflowPolicy(Type.GROW, limit, 0);
+        }
+
+        /** @param timeout maximum time to wait for room per event */
+        public static OverflowPolicy block(long timeout, TimeUnit unit) {
+            return new OverflowPolicy(Type.BLOCK, 0, unit.toNanos(timeout));
+        }
+    }
+
+    /** one ring of the queue, a growing queue chains bigger rings */
+    private static final class Segment {
+        final int capacity;
+        final int mask;
+        final int[] indices;
+        final float[] values;
+        final long[] nanos;
+        final long[] rawNanos;
+        /** sequence at which the consumer moves on to {@link #next} */
+        volatile long end = Long.MAX_VALUE;
+        Segment next;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            this.indices = new int[capacity];
+            this.values = new float[capacity];
+            this.nanos = new long[capacity];
+            this.rawNanos = new long[capacity];
+        }
+    }
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(EventQueue.class, "head", long.class);
+            TAIL = lookup.findVarHandle(EventQueue.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final OverflowPolicy policy;
+
+    private Segment producerSegment;
+    private Segment consumerSegment;
+
+    /** component index table, only grown by the producer */
+    private Component[] components = new Component[8];
+    private int componentCount;
+    private final Map<Component, Integer> componentIndices = new IdentityHashMap<>();
+
+    /** next slot to take, written by the consumer (and the producer for {@link OverflowPolicy.Type#DROP_OLDEST}) */
+    private long head;
+    /** next slot to add, written by the producer */
+    private long tail;
+    /** the producer's last seen head */
+    private long headCache;
 
-    private int head;
-    private int tail;
+    /** producer side pending events for {@link OverflowPolicy.Type#COALESCE} */
+    private boolean[] pending;
+    private float[] pendingValues;
+    private long[] pendingNanos;
+    private long[] pendingRawNanos;
+    private int[] pendingOrder;
+    private int pendingCount;
+
+    private volatile long droppedCount;
+    private volatile long coalescedCount;
+    private volatile int highWaterMark;
 
     /**
      * This is an internal method and should not be called by applications using the API
+     *
+     * @param size minimum number of events the queue can hold, rounded up to a power of two
      */
     public EventQueue(int size) {
-        queue = new Event[size + 1];
-        for (int i = 0; i < queue.length; i++)
-            queue[i] = new Event();
+        this(size, OverflowPolicy.DROP_NEWEST);
+    }
+
+    /**
+     * This is an internal method and should not be called by applications using the API
+     *
+     * @param size minimum number of events the queue can hold, rounded up to a power of two
+     * @param policy what to do when the queue is full
+     */
+    public EventQueue(int size, OverflowPolicy policy) {
+        this(size, policy, new Component[0]);
+    }
+
+    /**
+     * This is an internal method and should not be called by applications using the API
+     *
+     * @param size minimum number of events the queue can hold, rounded up to a power of two
+     * @param policy what to do when the queue is full
+     * @param components the components of the controller, their dense indices are used as is
+     */
+    public EventQueue(int size, OverflowPolicy policy, Component[] components) {
+        this.policy = policy;
+        producerSegment = consumerSegment = new Segment(toPowerOfTwo(size));
+        if (components.length > this.components.length)
+            this.components = new Component[components.length];
+        for (Component component : components)
+            indexOf(component);
+    }
+
+    private static int toPowerOfTwo(int size) {
+        return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    /** @return the number of events the queue can hold now */
+    public int getCapacity() {
+        return producerSegment.capacity;
+    }
+
+    /** @return the overflow policy of this queue */
+    public OverflowPolicy getOverflowPolicy() {
+        return policy;
+    }
+
+    /** @return the number of events lost because the queue was full */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /** @return the number of events merged into a pending event because the queue was full */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /** @return the largest number of events the queue has held */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * This is an internal method and should not be called by applications using the API
+     */
+    public void add(Event event) {
+        offer(event.getComponent(), event.getValue(), event.getNanos(), event.getRawNanos());
+    }
+
+    /**
+     * This is an internal method and should not be called by applications using the API
+     *
+     * @return false if the event was dropped or is still pending because the queue was full
+     */
+    public boolean offer(Component component, float value, long nanos) {
+        return offer(component, value, nanos, nanos);
     }
 
     /**
      * This is an internal method and should not be called by applications using the API
+     *
+     * @param nanos normalized time
+     * @param rawNanos device time
+     * @return false if the event was dropped or is still pending because the queue was full
+     */
+    public boolean offer(Component component, float value, long nanos, long rawNanos) {
+        int index = indexOf(component);
+        if (pendingCount > 0 && !flush()) {
+            coalesce(index, component, value, nanos, rawNanos);
+            return false;
+        }
+        while (true) {
+            long t = tail;
+            Segment s = producerSegment;
+            if (t - headCache >= s.capacity) {
+                headCache = (long) HEAD.getAcquire(this);
+                if (t - headCache >= s.capacity) {
+                    switch (policy.type()) {
+                    case DROP_OLDEST:
+                        if (HEAD.compareAndSet(this, headCache, headCache + 1)) {
+                            headCache++;
+                            droppedCount++;
+                        }
+                        continue;
+                    case COALESCE:
+                        coalesce(index, component, value, nanos, rawNanos);
+                        return false;
+                    case GROW:
+                        if (grow(t))
+                            continue;
+                        break;
+                    case BLOCK:
+                        if (await(t))
+                            continue;
+                        break;
+                    default:
+                        break;
+                    }
+                    droppedCount++;
+                    return false;
+                }
+            }
+            write(s, t, index, value, nanos, rawNanos);
+            return true;
+        }
+    }
+
+    /** producer side, publishes the slot by the release of tail */
+    private void write(Segment s, long t, int index, float value, long nanos, long rawNanos) {
+        int i = (int) t & s.mask;
+        s.indices[i] = index;
+        s.values[i] = value;
+        s.nanos[i] = nanos;
+        s.rawNanos[i] = rawNanos;
+        TAIL.setRelease(this, t + 1);
+        if (t + 1 - headCache > highWaterMark) {
+            headCache = (long) HEAD.getAcquire(this);
+            int size = (int) (t + 1 - headCache);
+            if (size > highWaterMark)
+                highWaterMark = size;
+        }
+    }
+
+    /** producer side, the table is published to the consumer by the release of tail */
+    private int indexOf(Component component) {
+        if (component instanceof AbstractComponent c) {
+            int i = c.getIndex();
+            if (i >= 0 && i < componentCount && components[i] == component)
+                return i;
+        }
+        Integer index = componentIndices.get(component);
+        if (index != null)
+            return index;
+        if (componentCount == components.length)
+            components = Arrays.copyOf(components, componentCount * 2);
+        components[componentCount] = component;
+        componentIndices.put(component, componentCount);
+        return componentCount++;
+    }
+
+    /** chains a segment twice as big, the consumer follows at sequence {@code t} */
+    private boolean grow(long t) {
+        Segment s = producerSegment;
+        if (s.capacity * 2 > policy.limit())
+            return false;
+        Segment next = new Segment(s.capacity * 2);
+        s.next = next;
+        s.end = t;
+        producerSegment = next;
+        return true;
+    }
+
+    /** waits until the consumer makes room or the timeout passes */
+    private boolean await(long t) {
+        long deadline = System.nanoTime() + policy.timeoutNanos();
+        Segment s = producerSegment;
+        int spins = 0;
+        do {
+            if (spins++ < 100)
+                Thread.onSpinWait();
+            else
+                LockSupport.parkNanos(this, 10_000);
+            headCache = (long) HEAD.getAcquire(this);
+            if (t - headCache < s.capacity)
+                return true;
+        } while (System.nanoTime() - deadline < 0 && !Thread.currentThread().isInterrupted());
+        return false;
+    }
+
+    /** merges an event into the pending table */
+    private void coalesce(int index, Component component, float value, long nanos, long rawNanos) {
+        if (pending == null || pending.length < componentCount) {
+            int length = components.length;
+            pending = pending == null ? new boolean[length] : Arrays.copyOf(pending, length);
+            pendingValues = pendingValues == null ? new float[length] : Arrays.copyOf(pendingValues, length);
+            pendingNanos = pendingNanos == null ? new long[length] : Arrays.copyOf(pendingNanos, length);
+            pendingRawNanos = pendingRawNanos == null ? new long[length] : Arrays.copyOf(pendingRawNanos, length);
+            pendingOrder = pendingOrder == null ? new int[length] : Arrays.copyOf(pendingOrder, length);
+        }
+        if (pending[index]) {
+            pendingValues[index] = component.isRelative() ? pendingValues[index] + value : value;
+            coalescedCount++;
+        } else {
+            pending[index] = true;
+            pendingValues[index] = value;
+            pendingOrder[pendingCount++] = index;
+        }
+        pendingNanos[index] = nanos;
+        pendingRawNanos[index] = rawNanos;
+    }
+
+    /**
+     * Moves pending coalesced events into the queue as far as there is room.
+     * This is an internal method and should be called by the producer only.
+     *
+     * @return true if no events are pending anymore
      */
-    public synchronized void add(Event event) {
-        queue[tail].set(event);
-        tail = increase(tail);
+    public boolean flush() {
+        int n = 0;
+        while (n < pendingCount) {
+            long t = tail;
+            Segment s = producerSegment;
+            if (t - headCache >= s.capacity) {
+                headCache = (long) HEAD.getAcquire(this);
+                if (t - headCache >= s.capacity)
+                    break;
+            }
+            int index = pendingOrder[n++];
+            pending[index] = false;
+            write(s, t, index, pendingValues[index], pendingNanos[index], pendingRawNanos[index]);
+        }
+        if (n > 0) {
+            System.arraycopy(pendingOrder, n, pendingOrder, 0, pendingCount - n);
+            pendingCount -= n;
+        }
+        return pendingCount == 0;
     }
 
     /**
@@ -70,15 +420,40 @@ public final class EventQueue {
      *
      * @return true if the queue is full
      */
-    public synchronized boolean isFull() {
-        return increase(tail) == head;
+    public boolean isFull() {
+        Segment s = producerSegment;
+        return (long) TAIL.getAcquire(this) - (long) HEAD.getAcquire(this) >= s.capacity;
+    }
+
+    /** @return the number of events currently in the queue */
+    public int size() {
+        return (int) ((long) TAIL.getAcquire(this) - (long) HEAD.getAcquire(this));
+    }
+
+    /** @return true if there are no events in the queue */
+    public boolean isEmpty() {
+        return (long) TAIL.getAcquire(this) == (long) HEAD.getAcquire(this);
     }
 
     /**
-     * This is an internal method and should not be called by applications using the API
+     * Consumer side, the time of the event on the head of the queue.
+     *
+     * @return undefined if the queue is empty
      */
-    private int increase(int x) {
-        return (x + 1) % queue.length;
+    public long peekNanos() {
+        long h = (long) HEAD.getAcquire(this);
+        Segment s = segmentOf(h);
+        return s.nanos[(int) h & s.mask];
+    }
+
+    /** consumer side, follows the chain of a growing queue */
+    private Segment segmentOf(long h) {
+        Segment s = consumerSegment;
+        while (h >= s.end) {
+            s = s.next;
+            consumerSegment = s;
+        }
+        return s;
     }
 
     /**
@@ -87,20 +462,85 @@ public final class EventQueue {
      * @param event The event to populate
      * @return false if there were no events left on the queue, otherwise true.
      */
-    public synchronized boolean getNextEvent(Event event) {
-        if (head == tail)
-            return false;
-        event.set(queue[head]);
-        head = increase(head);
+    public boolean getNextEvent(Event event) {
+        while (true) {
+            long h = (long) HEAD.getAcquire(this);
+            if (h == (long) TAIL.getAcquire(this))
+                return false;
+            Segment s = segmentOf(h);
+            int i = (int) h & s.mask;
+            int index = s.indices[i];
+            float value = s.values[i];
+            long nanos = s.nanos[i];
+            long rawNanos = s.rawNanos[i];
+            if (!take(h))
+                continue;
+            event.set(components[index], value, nanos, rawNanos);
+            return true;
+        }
+    }
+
+    /** releases the slot, the producer of a drop oldest queue may have taken it already */
+    private boolean take(long h) {
+        if (policy.type() == OverflowPolicy.Type.DROP_OLDEST)
+            return HEAD.compareAndSet(this, h, h + 1);
+        HEAD.setRelease(this, h + 1);
         return true;
     }
 
+    /**
+     * Takes up to {@code max} events from the head of the queue in one pass.
+     * Only one release store is made for the whole batch unless the queue drops oldest events.
+     *
+     * @param sink receives each event
+     * @param max maximum number of events to drain
+     * @return the number of events drained
+     */
+    public int drainTo(Sink sink, int max) {
+        if (policy.type() == OverflowPolicy.Type.DROP_OLDEST) {
+            int i = 0;
+            while (i < max) {
+                long h = (long) HEAD.getAcquire(this);
+                if (h == (long) TAIL.getAcquire(this))
+                    break;
+                Segment s = segmentOf(h);
+                int p = (int) h & s.mask;
+                int index = s.indices[p];
+                float value = s.values[p];
+                long nanos = s.nanos[p];
+                if (!take(h))
+                    continue;
+                sink.accept(components[index], value, nanos);
+                i++;
+            }
+            return i;
+        }
+        long h = head;
+        long n = Math.min((long) TAIL.getAcquire(this) - h, max);
+        Component[] components = this.components;
+        int i = 0;
+        try {
+            for (; i < n; i++) {
+                Segment s = segmentOf(h + i);
+                int p = (int) (h + i) & s.mask;
+                sink.accept(components[s.indices[p]], s.values[p], s.nanos[p]);
+            }
+        } finally {
+            if (i > 0)
+                HEAD.setRelease(this, h + i);
+        }
+        return i;
+    }
+
     @Override
     public String toString() {
         return new StringJoiner(", ", EventQueue.class.getSimpleName() + "[", "]")
-                .add("queue=" + queue.length)
+                .add("queue=" + producerSegment.capacity)
+                .add("policy=" + policy.type())
                 .add("head=" + head)
                 .add("tail=" + tail)
+                .add("dropped=" + droppedCount)
+                .add("coalesced=" + coalescedCount)
                 .toString();
     }
 }
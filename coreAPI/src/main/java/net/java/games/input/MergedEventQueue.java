@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+
+/**
+ * Polls every controller of an environment and merges their event queues
+ * into one stream ordered by {@link Event#getNanos()}.
+ * <p>
+ * The merge is a k-way merge over a binary heap of the controller queues
+ * keyed by the time of their head event. Nothing is allocated per poll
+ * once the controller list is known, the list is rebuilt only when the
+ * environment reports a controller added or removed.
+ * <p>
+ * Like {@link EventQueue}, this should be consumed by one thread at a time.
+ * The environment is referred weakly, so that the shared instance does not keep it alive.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ * @see ControllerEnvironment#pollAll()
+ */
+@SuppressWarnings("deprecation")
+public final class MergedEventQueue {
+
+    /** one per environment */
+    private static final Map<ControllerEnvironment, MergedEventQueue> instances = new WeakHashMap<>();
+
+    /** @return the shared instance for the environment */
+    static MergedEventQueue of(ControllerEnvironment environment) {
+        synchronized (instances) {
+            return instances.computeIfAbsent(environment, MergedEventQueue::new);
+        }
+    }
+
+    private final WeakReference<ControllerEnvironment> environment;
+
+    private volatile boolean dirty = true;
+
+    private PollingController[] controllers = new PollingController[0];
+    private EventQueue[] queues = new EventQueue[0];
+
+    /** heap of queue indices, ordered by {@link #keys} */
+    private int[] heap = new int[0];
+    private long[] keys = new long[0];
+    private int heapSize;
+
+    /**
+     * @param environment the controllers to poll
+     */
+    public MergedEventQueue(ControllerEnvironment environment) {
+        this.environment = new WeakReference<>(environment);
+        environment.addControllerListener(new ControllerListener() {
+            @Override
+            public void controllerRemoved(ControllerEvent ev) {
+                dirty = true;
+            }
+
+            @Override
+            public void controllerAdded(ControllerEvent ev) {
+                dirty = true;
+            }
+        });
+    }
+
+    private void refresh() {
+        dirty = false;
+        List<PollingController> list = new ArrayList<>();
+        ControllerEnvironment environment = this.environment.get();
+        if (environment != null) {
+            for (Controller controller : environment.getControllers()) {
+                if (controller instanceof PollingController)
+                    list.add((PollingController) controller);
+            }
+        }
+        controllers = list.toArray(PollingController[]::new);
+        queues = new EventQueue[controllers.length];
+        heap = new int[controllers.length];
+        keys = new long[controllers.length];
+    }
+
+    /**
+     * Polls every controller once and prepares the merge of their queues.
+     * Events left over from the last poll are merged again with the new ones.
+     *
+     * @return this
+     */
+    public MergedEventQueue poll() {
+        if (dirty)
+            refresh();
+        heapSize = 0;
+        for (int i = 0; i < controllers.length; i++) {
+            controllers[i].poll();
+            queues[i] = controllers[i].getEventQueue();
+            if (!queues[i].isEmpty())
+                push(i, queues[i].peekNanos());
+        }
+        return this;
+    }
+
+    /** @return the controllers merged by this queue */
+    public PollingController[] getControllers() {
+        return controllers.clone();
+    }
+
+    /**
+     * Populates the provided event with the earliest event of all controllers.
+     *
+     * @param event The event to populate
+     * @return false if there were no events left, otherwise true.
+     */
+    public boolean getNextEvent(Event event) {
+        while (heapSize > 0) {
+            int q = heap[0];
+            boolean taken = queues[q].getNextEvent(event);
+            if (queues[q].isEmpty()) {
+                pop();
+            } else {
+                keys[0] = queues[q].peekNanos();
+                siftDown(0);
+            }
+            if (taken)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Takes up to {@code max} events in time order.
+     *
+     * @param sink receives each event
+     * @param max maximum number of events to drain
+     * @return the number of events drained
+     */
+    public int drainTo(EventQueue.Sink sink, int max) {
+        int n = 0;
+        while (n < max && heapSize > 0) {
+            int q = heap[0];
+            EventQueue queue = queues[q];
+            // everything up to the next queue's head can go in one batch
+            long limit = heapSize > 1 ? Math.min(keys[1], heapSize > 2 ? keys[2] : Long.MAX_VALUE) : Long.MAX_VALUE;
+            do {
+                n += queue.drainTo(sink, 1);
+            } while (n < max && !queue.isEmpty() && queue.peekNanos() <= limit);
+            if (queue.isEmpty()) {
+                pop();
+            } else {
+                keys[0] = queue.peekNanos();
+                siftDown(0);
+            }
+        }
+        return n;
+    }
+
+    private void push(int q, long key) {
+        int i = heapSize++;
+        heap[i] = q;
+        keys[i] = key;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= keys[i])
+                break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void pop() {
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            keys[0] = keys[heapSize];
+            siftDown(0);
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= heapSize)
+                return;
+            int min = left + 1 < heapSize && keys[left + 1] < keys[left] ? left + 1 : left;
+            if (keys[i] <= keys[min])
+                return;
+            swap(i, min);
+            i = min;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int q = heap[i];
+        heap[i] = heap[j];
+        heap[j] = q;
+        long k = keys[i];
+        keys[i] = keys[j];
+        keys[j] = k;
+    }
+}
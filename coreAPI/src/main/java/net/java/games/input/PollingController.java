@@ -33,6 +33,10 @@
 package net.java.games.input;
 
 import java.io.IOException;
+import java.io.Serial;
+import java.nio.BufferOverflowException;
+import java.nio.FloatBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -48,9 +52,40 @@ public abstract class PollingController extends AbstractController {
 
     public final static int EVENT_QUEUE_DEPTH = 32;
 
-    private final static Event event = new Event();
+    /** scratch space of poll(), one per controller so that controllers can be polled in parallel */
+    private final Event event = new Event();
 
-    private EventQueue eventQueue = new EventQueue(EVENT_QUEUE_DEPTH);
+    private EventQueue eventQueue;
+
+    /** maps the device timestamps onto {@link System#nanoTime()} */
+    private final ClockDomain clockDomain;
+
+    /** the values of the components delivered by the events up to the latest poll, by the dense index */
+    private final float[] values;
+
+    /** per component coalescing within one poll, null when disabled */
+    private Coalescer coalescer;
+
+    /** triple buffers of the state snapshot */
+    private final ControllerState[] states;
+    /** set on {@link #middle} when the poll published it and no reader took it yet */
+    private static final int FRESH = 4;
+    /** index of the buffer passed from the poll to the readers, with {@link #FRESH} */
+    private final AtomicInteger middle = new AtomicInteger(1);
+    /** index of the buffer the poll writes, owned by the poll */
+    private int back = 2;
+    /** index of the buffer the readers copy, owned by the readers under {@link #frontLock} */
+    private int front = 0;
+    /** serializes the readers only, never taken by the poll */
+    private final Object frontLock = new Object();
+    private long pollCount;
+
+    /** delivered to input event listeners, drains the event queue */
+    private final InputEvent inputEvent = new QueueInputEvent();
+
+    /** counts of replaced queues */
+    private long droppedCount;
+    private long coalescedCount;
 
     /**
      * Protected constructor for a controller containing the specified
@@ -63,6 +98,28 @@ public abstract class PollingController extends AbstractController {
      */
     protected PollingController(String name, Component[] components, Controller[] children, Rumbler[] rumblers) {
         super(name, components, children, rumblers);
+        eventQueue = new EventQueue(EVENT_QUEUE_DEPTH, EventQueue.OverflowPolicy.DROP_NEWEST, components);
+        clockDomain = createClockDomain();
+        values = new float[components.length];
+        states = new ControllerState[] {
+            new ControllerState(components.length), new ControllerState(components.length), new ControllerState(components.length)
+        };
+    }
+
+    /**
+     * Creates the clock domain mapping the timestamps set by {@link #getNextDeviceEvent(Event)}
+     * onto {@link System#nanoTime()}. Called from the constructor, so it must not depend on
+     * the state of the subclass.
+     *
+     * @return {@link ClockDomain#MONOTONIC} if the device events are already stamped with {@link System#nanoTime()}
+     */
+    protected ClockDomain createClockDomain() {
+        return new ClockDomain();
+    }
+
+    /** @return the clock domain of the device timestamps */
+    public final ClockDomain getClockDomain() {
+        return clockDomain;
     }
 
     /**
@@ -72,7 +129,7 @@ public abstract class PollingController extends AbstractController {
     public final void setEventQueueSize(int size) {
         try {
             setDeviceEventQueueSize(size);
-            eventQueue = new EventQueue(size);
+            replaceEventQueue(new EventQueue(size, eventQueue.getOverflowPolicy(), getComponents()));
         } catch (IOException e) {
             log.fine("Failed to create new event queue of size " + size + ": " + e);
         }
@@ -84,6 +141,61 @@ public abstract class PollingController extends AbstractController {
     protected void setDeviceEventQueueSize(int size) throws IOException {
     }
 
+    /**
+     * Sets what happens to events when the controller event queue is full.
+     * Existing events in the queue are lost.
+     */
+    public final void setEventQueueOverflowPolicy(EventQueue.OverflowPolicy policy) {
+        try {
+            setDeviceEventQueueOverflowPolicy(policy);
+            replaceEventQueue(new EventQueue(eventQueue.getCapacity(), policy, getComponents()));
+        } catch (IOException e) {
+            log.fine("Failed to set event queue overflow policy " + policy + ": " + e);
+        }
+    }
+
+    /**
+     * Plugins override this method to apply the overflow policy to their internal event queue
+     */
+    protected void setDeviceEventQueueOverflowPolicy(EventQueue.OverflowPolicy policy) throws IOException {
+    }
+
+    /**
+     * Plugins that have an internal event queue override this method to have its losses counted,
+     * including the ones of the queues replaced before.
+     */
+    protected long getDeviceDroppedEventCount() {
+        return 0;
+    }
+
+    /**
+     * Plugins that have an internal event queue override this method to have its merges counted,
+     * including the ones of the queues replaced before.
+     */
+    protected long getDeviceCoalescedEventCount() {
+        return 0;
+    }
+
+    private synchronized void replaceEventQueue(EventQueue eventQueue) {
+        droppedCount += this.eventQueue.getDroppedCount();
+        coalescedCount += this.eventQueue.getCoalescedCount();
+        this.eventQueue = eventQueue;
+    }
+
+    /**
+     * @return the number of events lost because the controller or device event queue was full
+     */
+    public final long getDroppedEventCount() {
+        return droppedCount + eventQueue.getDroppedCount() + getDeviceDroppedEventCount();
+    }
+
+    /**
+     * @return the number of events merged because the controller or device event queue was full
+     */
+    public final long getCoalescedEventCount() {
+        return coalescedCount + eventQueue.getCoalescedCount() + getDeviceCoalescedEventCount();
+    }
+
     /**
      * Get the device event queue
      */
@@ -91,8 +203,154 @@ public abstract class PollingController extends AbstractController {
         return eventQueue;
     }
 
+    /**
+     * Enables or disables coalescing of events within one {@link #poll()}.
+     * When enabled, an absolute axis queues only its latest value and a relative axis
+     * queues the sum of its deltas, digital components still queue every transition in order.
+     * Pending axis values are queued before the next digital event and at the end of the poll.
+     */
+    public final synchronized void setEventCoalescing(boolean coalescing) {
+        coalescer = coalescing ? new Coalescer(getComponents()) : null;
+    }
+
+    /** @return true if events are coalesced within one poll */
+    public final synchronized boolean isEventCoalescing() {
+        return coalescer != null;
+    }
+
+    /** holds the latest axis values of one poll */
+    private static final class Coalescer {
+        final Component[] components;
+        final boolean[] held;
+        /** value delivered before the first held change */
+        final float[] from;
+        final float[] values;
+        final long[] nanos;
+        final long[] rawNanos;
+        final int[] order;
+        int count;
+
+        Coalescer(Component[] components) {
+            this.components = components;
+            held = new boolean[components.length];
+            from = new float[components.length];
+            values = new float[components.length];
+            nanos = new long[components.length];
+            rawNanos = new long[components.length];
+            order = new int[components.length];
+        }
+
+        /** @return false if the component does not belong to this controller */
+        boolean hold(PollingComponent component, float previous, float value, long nanos, long rawNanos) {
+            int i = component.getIndex();
+            if (i < 0 || i >= components.length || components[i] != component)
+                return false;
+            if (!held[i]) {
+                held[i] = true;
+                from[i] = previous;
+                values[i] = 0;
+                order[count++] = i;
+            }
+            values[i] = component.isRelative() ? values[i] + value : value;
+            this.nanos[i] = nanos;
+            this.rawNanos[i] = rawNanos;
+            return true;
+        }
+
+        void flush(EventQueue eventQueue) {
+            for (int n = 0; n < count; n++) {
+                int i = order[n];
+                held[i] = false;
+                boolean unchanged = components[i].isRelative() ? values[i] == 0 : values[i] == from[i];
+                if (!unchanged)
+                    eventQueue.offer(components[i], values[i], nanos[i], rawNanos[i]);
+            }
+            count = 0;
+        }
+    }
+
+    /** the reused input event of this controller */
+    private final class QueueInputEvent extends InputEvent {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        QueueInputEvent() {
+            super(PollingController.this);
+        }
+
+        @Override
+        public boolean getNextEvent(Event event) {
+            return eventQueue.getNextEvent(event);
+        }
+    }
+
     protected abstract boolean getNextDeviceEvent(Event event) throws IOException;
 
+    /**
+     * Fills {@code dst} with the snapshot of the component values delivered by the events
+     * up to the latest poll. This can be called from any thread without blocking the poll,
+     * the values are always from one and the same poll.
+     * <p>
+     * Until the first poll the sequence of {@code dst} is 0.
+     *
+     * @param dst created for this controller
+     * @return dst
+     */
+    public final ControllerState getState(ControllerState dst) {
+        synchronized (frontLock) {
+            if ((middle.get() & FRESH) != 0)
+                front = middle.getAndSet(front) & ~FRESH;
+            states[front].readTo(dst);
+        }
+        return dst;
+    }
+
+    /** keeps the value of the component delivered by an event, no native read */
+    private void record(PollingComponent component) {
+        int i = component.getIndex();
+        if (i < 0 || i >= values.length || getComponents()[i] != component)
+            return;
+        values[i] = component.isRelative() ? component.getPollData() : component.getEventValue();
+    }
+
+    /** writes the state into the back buffer, then swaps it with the middle one */
+    private void publishState() {
+        states[back].write(values, ++pollCount, System.nanoTime());
+        back = middle.getAndSet(back | FRESH) & ~FRESH;
+    }
+
+    /**
+     * Copies the values of all components delivered by the events up to the latest poll
+     * in one pass, {@code dst[i]} gets the value of {@code getComponents()[i]}.
+     * The components are not polled natively, a component without events yet reads 0.
+     *
+     * @param dst at least as long as the number of components
+     * @return the number of values copied
+     * @throws IllegalArgumentException dst is too short
+     */
+    public final synchronized int readState(float[] dst) {
+        if (dst.length < values.length)
+            throw new IllegalArgumentException("dst length " + dst.length + " < " + values.length);
+        System.arraycopy(values, 0, dst, 0, values.length);
+        return values.length;
+    }
+
+    /**
+     * Copies the values of all components delivered by the events up to the latest poll
+     * in one pass into the buffer at its current position, the position is advanced.
+     *
+     * @param dst at least as many remaining as the number of components
+     * @return the number of values copied
+     * @throws BufferOverflowException dst is too short
+     */
+    public final synchronized int readState(FloatBuffer dst) {
+        if (dst.remaining() < values.length)
+            throw new BufferOverflowException();
+        dst.put(values);
+        return values.length;
+    }
+
     protected void pollDevice() throws IOException {
         // must override
     }
@@ -100,37 +358,67 @@ public abstract class PollingController extends AbstractController {
     /**
      * Polls axes for data.  Returns false if the controller is no longer valid.
      * Polling reflects the current state of the device when polled.
-     *
-     * poll() is synchronized to protect the static event
+     * <p>
+     * When input event listeners are added and the poll queued events, the listeners
+     * are called with an {@link InputEvent} that drains the event queue.
+     * A plugin may call this from its own reader thread to push events,
+     * in that case the event queue should be consumed by the listeners only.
      */
-    public synchronized boolean poll() {
+    public boolean poll() {
+        if (!pollAndQueue())
+            return false;
+        if (hasInputEventListeners() && !eventQueue.isEmpty())
+            fireOnInput(inputEvent);
+        return true;
+    }
+
+    /**
+     * Synchronized to protect the event and the components,
+     * distinct controllers do not share any state and can be polled from distinct threads
+     */
+    private synchronized boolean pollAndQueue() {
         Component[] components = getComponents();
         try {
+            eventQueue.flush();
             pollDevice();
-            for (Component item : components) {
-                PollingComponent component = (PollingComponent) item;
+            for (int i = 0; i < components.length; i++) {
+                PollingComponent component = (PollingComponent) components[i];
                 if (component.isRelative()) {
                     component.setPollData(0);
+                    values[i] = 0;
                 } else {
                     // Let the component poll itself lazily
                     component.resetHasPolled();
                 }
             }
+            Coalescer coalescer = this.coalescer;
             while (getNextDeviceEvent(event)) {
                 PollingComponent component = (PollingComponent) event.getComponent();
                 float value = event.getValue();
+                float previous = component.getEventValue();
                 if (component.isRelative()) {
                     if (value == 0)
                         continue;
                     component.setPollData(component.getPollData() + value);
                 } else {
-                    if (value == component.getEventValue())
+                    if (value == previous)
                         continue;
                     component.setEventValue(value);
                 }
-                if (!eventQueue.isFull())
-                    eventQueue.add(event);
+                record(component);
+                long rawNanos = event.getNanos();
+                long nanos = clockDomain.toNanoTime(rawNanos);
+                if (coalescer != null) {
+                    if ((component.isRelative() || component.isAnalog()) &&
+                            coalescer.hold(component, previous, value, nanos, rawNanos))
+                        continue;
+                    coalescer.flush(eventQueue);
+                }
+                eventQueue.offer(component, value, nanos, rawNanos);
             }
+            if (coalescer != null)
+                coalescer.flush(eventQueue);
+            publishState();
             return true;
         } catch (IOException e) {
             log.log(Level.FINER, "Failed to poll device: " + e.getMessage(), e);
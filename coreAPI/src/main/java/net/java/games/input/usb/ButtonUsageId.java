@@ -33,9 +33,8 @@
 
 package net.java.games.input.usb;
 
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.java.games.input.Component;
 
@@ -48,26 +47,51 @@ import net.java.games.input.Component;
  */
 public final class ButtonUsageId implements UsageId {
 
-    private final static Map<Integer, ButtonUsageId> map = new HashMap<>();
+    /** identifiers by usage id, "0" is the button 1 */
+    private static final Component.Identifier.Button[] IDENTIFIERS;
+
+    static {
+        int max = 0;
+        for (Component.Identifier.Button e : Component.Identifier.Button.values())
+            if (e.getName().matches("\\d+"))
+                max = Math.max(max, Integer.parseInt(e.getName()) + 1);
+        IDENTIFIERS = new Component.Identifier.Button[max + 1];
+        for (Component.Identifier.Button e : Component.Identifier.Button.values())
+            if (e.getName().matches("\\d+"))
+                IDENTIFIERS[Integer.parseInt(e.getName()) + 1] = e;
+    }
+
+    /** the last usage id with an identifier */
+    static final int MAX_IDENTIFIED = IDENTIFIERS.length - 1;
+
+    /** usage ids of the most of the devices */
+    private final static ButtonUsageId[] TABLE = new ButtonUsageId[256];
+
+    /** the rest */
+    private final static Map<Integer, ButtonUsageId> map = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < TABLE.length; i++)
+            TABLE[i] = new ButtonUsageId(i);
+    }
 
     private final int usageId;
+    private final Component.Identifier.Button identifier;
 
     public static ButtonUsageId map(int buttonId) {
-        ButtonUsageId existing = map.get(buttonId);
-        if (existing != null)
-            return existing;
-        ButtonUsageId newButton = new ButtonUsageId(buttonId);
-        map.put(buttonId, newButton);
-        return newButton;
+        if (buttonId >= 0 && buttonId < TABLE.length)
+            return TABLE[buttonId];
+        return map.computeIfAbsent(buttonId, ButtonUsageId::new);
     }
 
     private ButtonUsageId(int usageId) {
         this.usageId = usageId;
+        this.identifier = usageId > 0 && usageId < IDENTIFIERS.length ? IDENTIFIERS[usageId] : null;
     }
 
     @Override
     public Component.Identifier.Button getIdentifier() {
-        return Arrays.stream(Component.Identifier.Button.values()).filter(e -> e.getName().equals(String.valueOf(usageId - 1))).findFirst().orElse(null);
+        return identifier;
     }
 
     @Override
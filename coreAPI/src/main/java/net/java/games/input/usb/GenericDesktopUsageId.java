@@ -150,8 +150,20 @@ public enum GenericDesktopUsageId implements UsageId {
     private final int usageId;
     private final Component.Identifier identifier;
 
+    /** by usage id, the first one of the same id wins */
+    private static final GenericDesktopUsageId[] TABLE;
+
+    static {
+        int max = Arrays.stream(values()).mapToInt(e -> e.usageId).max().orElse(0);
+        TABLE = new GenericDesktopUsageId[max + 1];
+        for (GenericDesktopUsageId e : values())
+            if (TABLE[e.usageId] == null)
+                TABLE[e.usageId] = e;
+    }
+
+    /** @return null if not defined */
     public static GenericDesktopUsageId map(int usageId) {
-        return Arrays.stream(values()).filter(e -> e.usageId == usageId).findFirst().orElse(null);
+        return usageId >= 0 && usageId < TABLE.length ? TABLE[usageId] : null;
     }
 
     GenericDesktopUsageId(int usageId) {
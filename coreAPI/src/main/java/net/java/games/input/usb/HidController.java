@@ -6,6 +6,8 @@
 
 package net.java.games.input.usb;
 
+import java.util.Arrays;
+
 import net.java.games.input.AbstractController;
 import net.java.games.input.Controller;
 import net.java.games.input.Rumbler;
@@ -28,6 +30,9 @@ public interface HidController extends Controller {
     /** data structure to report for a hid device */
     abstract class HidReport implements AbstractController.Report {
 
+        /** the data last sent, null if never */
+        private byte[] sent;
+
         /** hid report id */
         public abstract int getReportId();
 
@@ -64,5 +69,22 @@ public interface HidController extends Controller {
             this.cascadeTo(rumblers);
             this.pack(rumblers);
         }
+
+        /**
+         * @return true if the data differs from the one at the last {@link #markSent()},
+         *         a device write can be skipped if false
+         */
+        public boolean isDirty() {
+            return sent == null || !Arrays.equals(sent, getData());
+        }
+
+        /** records the data as sent to the device */
+        public void markSent() {
+            byte[] data = getData();
+            if (sent == null || sent.length != data.length)
+                sent = data.clone();
+            else
+                System.arraycopy(data, 0, sent, 0, data.length);
+        }
     }
 }
@@ -6,6 +6,8 @@
 
 package net.java.games.input.usb;
 
+import java.nio.ByteBuffer;
+
 
 /**
  * HidInputEvent.
@@ -17,4 +19,12 @@ public interface HidInputEvent {
 
     /** for debug */
     byte[] getData();
+
+    /**
+     * The report without a copy, implementations holding the report in native memory
+     * should return a direct buffer of it. Valid only during the event dispatch.
+     */
+    default ByteBuffer getBuffer() {
+        return ByteBuffer.wrap(getData());
+    }
 }
@@ -400,8 +400,20 @@ public enum KeyboardUsageId implements UsageId {
         return identifier;
     }
 
+    /** by usage id, the first one of the same id wins */
+    private static final KeyboardUsageId[] TABLE;
+
+    static {
+        int max = Arrays.stream(values()).mapToInt(e -> e.usageId).max().orElse(0);
+        TABLE = new KeyboardUsageId[max + 1];
+        for (KeyboardUsageId e : values())
+            if (TABLE[e.usageId] == null)
+                TABLE[e.usageId] = e;
+    }
+
+    /** @return null if not defined */
     public static KeyboardUsageId map(int usageId) {
-        return Arrays.stream(values()).filter(e -> e.usageId == usageId).findFirst().orElse(null);
+        return usageId >= 0 && usageId < TABLE.length ? TABLE[usageId] : null;
     }
 
     KeyboardUsageId(int usageId) {
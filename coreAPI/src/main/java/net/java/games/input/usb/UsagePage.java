@@ -34,7 +34,9 @@
 package net.java.games.input.usb;
 
 import java.util.Arrays;
-import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import net.java.games.input.Component;
 
 
 /**
@@ -85,14 +87,27 @@ public enum UsagePage {
     /** OAAF Definitions for arcade and coinop related Devices */
     ARCADE(0x91);
 
-    private final Function<Integer, UsageId> usageMap;
+    private final IntFunction<UsageId> usageMap;
     private final int usagePageId;
+    /** identifiers by usage id, built on the first use */
+    private volatile Component.Identifier[] identifiers;
+
+    /** by page id, vendor defined pages are not in */
+    private static final UsagePage[] TABLE;
 
+    static {
+        int max = Arrays.stream(values()).mapToInt(e -> e.usagePageId).max().orElse(0);
+        TABLE = new UsagePage[max + 1];
+        for (UsagePage e : values())
+            TABLE[e.usagePageId] = e;
+    }
+
+    /** @return null if not defined */
     public static UsagePage map(int pageId) {
-        return Arrays.stream(values()).filter(e -> e.usagePageId == pageId).findFirst().orElse(null);
+        return pageId >= 0 && pageId < TABLE.length ? TABLE[pageId] : null;
     }
 
-    UsagePage(int pageId, Function<Integer, UsageId> usageMap) {
+    UsagePage(int pageId, IntFunction<UsageId> usageMap) {
         this.usageMap = usageMap;
         this.usagePageId = pageId;
     }
@@ -109,6 +124,48 @@ public enum UsagePage {
         return usageMap == null ? null : usageMap.apply(usageId);
     }
 
+    /**
+     * Maps a usage to an identifier without creating the {@link UsageId}.
+     *
+     * @return null if the usage has no identifier
+     */
+    public final Component.Identifier mapIdentifier(int usageId) {
+        Component.Identifier[] identifiers = this.identifiers;
+        if (identifiers == null) {
+            identifiers = createIdentifiers();
+            this.identifiers = identifiers;
+        }
+        return usageId >= 0 && usageId < identifiers.length ? identifiers[usageId] : null;
+    }
+
+    /** usage ids beyond the last one with an identifier are not in */
+    private Component.Identifier[] createIdentifiers() {
+        if (usageMap == null)
+            return new Component.Identifier[0];
+        int max = switch (this) {
+            case GENERIC_DESKTOP -> 0xff;
+            case KEYBOARD_OR_KEYPAD -> 0xff;
+            case BUTTON -> ButtonUsageId.MAX_IDENTIFIED;
+            default -> 0;
+        };
+        Component.Identifier[] identifiers = new Component.Identifier[max + 1];
+        for (int i = 0; i <= max; i++) {
+            UsageId usage = usageMap.apply(i);
+            identifiers[i] = usage == null ? null : usage.getIdentifier();
+        }
+        return identifiers;
+    }
+
+    /**
+     * A (page, usage) to identifier lookup by two array accesses.
+     *
+     * @return null if the usage has no identifier
+     */
+    public static Component.Identifier mapIdentifier(int usagePage, int usageId) {
+        UsagePage page = map(usagePage);
+        return page == null ? null : page.mapIdentifier(usageId);
+    }
+
     @Override
     public String toString() {
         return super.toString() + "(" + usagePageId + ")";
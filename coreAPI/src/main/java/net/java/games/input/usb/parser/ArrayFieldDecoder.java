@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.java.games.input.usb.parser.HidParser.Feature;
+
+
+/**
+ * Decodes the array fields of an input report into press and release of usages.
+ * <p>
+ * An array field (a main item without {@link Feature#VARIABLE}) does not have a value
+ * for each usage, each slot of the field holds the index of a usage currently on,
+ * e.g. the pressed keys of a keyboard. The usages on in a report are set in a bitset
+ * and xor-ed with the bitset of the previous report, so a report is decoded without
+ * sorting, collections nor allocation.
+ * <p>
+ * A keyboard in the phantom state (all slots are ErrorRollOver) does not change
+ * the keys pressed.
+ * <p>
+ * Like {@link Field#getValue(byte[])}, the first byte of the data is the report id.
+ * An instance keeps the usages of the previous report, use one for each device.
+ * An instance is not thread safe.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+public final class ArrayFieldDecoder {
+
+    /** receives the changes of a report */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param usagePair usage page &lt;&lt; 16 | usage id
+         * @param on true: pressed, false: released
+         */
+        void onUsage(int usagePair, boolean on);
+    }
+
+    private static final int USAGE_PAGE_KEYBOARD = 0x07;
+    /** ErrorRollOver, POSTFail, ErrorUndefined */
+    private static final int USAGE_KEYBOARD_ERROR_MAX = 0x03;
+
+    private final Report report;
+
+    /** byte offset of the slot in the data, including the report id */
+    private final int[] offsets;
+    /** shift left dropping the bits above the slot */
+    private final int[] lefts;
+    /** shift right dropping the bits below the slot, arithmetic if signed */
+    private final int[] rights;
+    private final boolean[] signed;
+    private final int[] minimums;
+    /** the first bit of the usages of the slot */
+    private final int[] bases;
+    /** usages by bit */
+    private final int[] usages;
+    /** the first bit of the usages after the slot */
+    private final int[] ends;
+
+    /** usages on in the previous report */
+    private long[] previous;
+    /** usages on in the current report */
+    private long[] current;
+
+    private ArrayFieldDecoder(Report report, List<FieldRange> ranges) {
+        this.report = report;
+        int n = ranges.stream().mapToInt(FieldRange::getCount).sum();
+        offsets = new int[n];
+        lefts = new int[n];
+        rights = new int[n];
+        signed = new boolean[n];
+        minimums = new int[n];
+        bases = new int[n];
+        ends = new int[n];
+        usages = new int[ranges.stream().mapToInt(FieldRange::getUsageCount).sum()];
+        int i = 0;
+        int base = 0;
+        for (FieldRange range : ranges) {
+            int bits = range.reportSize;
+            if (bits < 1 || bits > 32)
+                throw new IllegalArgumentException(String.format("unsupported array field: size: %d bits, offset: %d", bits, range.reportOffset));
+            // the slots of a main item share the usages
+            for (int u = 0; u < range.usageCount; u++)
+                usages[base + u] = range.getUsage(u);
+            for (int e = 0; e < range.reportCount; e++, i++) {
+                int offset = range.getOffset(e);
+                int shift = offset % 8;
+                offsets[i] = offset / 8 + 1; // + 1 for the report id at the first byte
+                lefts[i] = 64 - shift - bits;
+                rights[i] = 64 - bits;
+                signed[i] = range.logicalMinimum < 0;
+                minimums[i] = range.logicalMinimum;
+                bases[i] = base;
+                ends[i] = base + range.usageCount;
+            }
+            base += range.usageCount;
+        }
+        previous = new long[(usages.length + 63) / 64];
+        current = new long[previous.length];
+    }
+
+    /**
+     * Compiles the array fields of a parsed report.
+     *
+     * @throws IllegalArgumentException a slot is wider than 32 bits
+     */
+    public static ArrayFieldDecoder compile(Report report) {
+        List<FieldRange> ranges = new ArrayList<>();
+        for (FieldRange range : report.getFieldRanges())
+            if (range.isArray() && range.usageCount > 0)
+                ranges.add(range);
+        return new ArrayFieldDecoder(report, ranges);
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    /** @return the number of the slots */
+    public int size() {
+        return offsets.length;
+    }
+
+    /** @return the number of the usages of all the slots */
+    public int getUsageCount() {
+        return usages.length;
+    }
+
+    /** forgets the previous report, no release is notified */
+    public void reset() {
+        Arrays.fill(previous, 0);
+    }
+
+    /**
+     * Decodes a report and notifies the usages changed from the previous report,
+     * releases first.
+     *
+     * @param data a report, the first byte is the report id
+     * @param listener receives the changes
+     * @return the number of the changes
+     */
+    public int decode(byte[] data, Listener listener) {
+        long[] current = this.current;
+        Arrays.fill(current, 0);
+        for (int i = 0; i < offsets.length; i++) {
+            long raw = ReportDecoder.load(data, offsets[i]) << lefts[i];
+            long v = signed[i] ? raw >> rights[i] : raw >>> rights[i];
+            long bit = bases[i] + v - minimums[i];
+            if (bit < bases[i] || bit >= ends[i])
+                continue; // out of the range is none
+            int usage = usages[(int) bit];
+            if ((usage & 0xffff) == 0)
+                continue; // reserved, no event
+            if ((usage >>> 16) == USAGE_PAGE_KEYBOARD && (usage & 0xffff) <= USAGE_KEYBOARD_ERROR_MAX)
+                return 0; // phantom state, keys are unknown
+            current[(int) (bit >>> 6)] |= 1L << bit;
+        }
+
+        int count = 0;
+        for (int on = 0; on < 2; on++) {
+            for (int w = 0; w < current.length; w++) {
+                long x = current[w] ^ previous[w];
+                long changed = x & (on == 0 ? previous[w] : current[w]);
+                while (changed != 0) {
+                    int bit = w * 64 + Long.numberOfTrailingZeros(changed);
+                    listener.onUsage(usages[bit], on == 1);
+                    changed &= changed - 1;
+                    count++;
+                }
+            }
+        }
+
+        this.current = previous;
+        this.previous = current;
+        return count;
+    }
+}
@@ -31,7 +31,10 @@
 package net.java.games.input.usb.parser;
 
 import java.io.PrintStream;
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -43,11 +46,16 @@ import net.java.games.input.usb.UsagePage;
  *
  * @see "https://github.com/nyholku/purejavahidapi"
  */
-public final class Collection {
+public final class Collection implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2L;
 
     private final Collection parent;
     private final LinkedList<Collection> children;
-    private final LinkedList<Field> fields;
+    private final List<FieldRange> ranges;
+    /** views of the ranges, created on demand */
+    private transient LinkedList<Field> fields;
     private final int usagePair;
     private final int type;
 
@@ -59,10 +67,23 @@ public final class Collection {
         return children;
     }
 
-    public LinkedList<Field> getFields() {
+    /** @return fields of all the elements of the ranges, created on the first call */
+    public synchronized LinkedList<Field> getFields() {
+        if (fields == null) {
+            LinkedList<Field> fields = new LinkedList<>();
+            for (FieldRange range : ranges)
+                for (int i = 0; i < range.reportCount; i++)
+                    fields.add(range.getField(i));
+            this.fields = fields;
+        }
         return fields;
     }
 
+    /** @return runs of the fields directly in this collection */
+    public List<FieldRange> getFieldRanges() {
+        return Collections.unmodifiableList(ranges);
+    }
+
     public int getUsagePair() {
         return usagePair;
     }
@@ -111,15 +132,15 @@ public final class Collection {
         children = new LinkedList<>();
         if (parent != null)
             parent.children.add(this);
-        fields = new LinkedList<>();
+        ranges = new ArrayList<>();
     }
 
     void reset() {
         children.clear();
     }
 
-    void add(Field field) {
-        fields.add(field);
+    void add(FieldRange range) {
+        ranges.add(range);
     }
 
     void dump(PrintStream out, String tab) {
@@ -131,7 +152,7 @@ public final class Collection {
         for (Collection c : children) {
             c.dump(out, tab);
         }
-        for (Field f : fields) {
+        for (Field f : getFields()) {
             f.dump(out, tab);
         }
     }
@@ -141,7 +162,7 @@ public final class Collection {
         for (Collection c : children) {
             result.addAll(c.enumerateFields());
         }
-        result.addAll(fields);
+        result.addAll(getFields());
         return result;
     }
 
@@ -150,7 +171,7 @@ public final class Collection {
         return "Collection{" +
                 "parent=" + parent +
                 ", children=" + children.size() +
-                ", fields=" + fields.size() +
+                ", fields=" + ranges.stream().mapToInt(FieldRange::getCount).sum() +
                 ", usage=" + usagePair +
                 ", type=" + Type.valueOf(type) +
                 '}';
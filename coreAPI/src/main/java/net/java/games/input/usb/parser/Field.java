@@ -32,8 +32,11 @@ package net.java.games.input.usb.parser;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.io.Serial;
+import java.io.Serializable;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
 
 import net.java.games.input.usb.UsagePage;
 import net.java.games.input.usb.parser.HidParser.Feature;
@@ -50,10 +53,17 @@ import static net.java.games.input.usb.parser.HidParser.Feature.BUFFERED_BYTE;
  *
  * @see "https://github.com/nyholku/purejavahidapi"
  */
-public final class Field {
+public final class Field implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2L;
 
     private static final Logger logger = getLogger(Field.class.getName());
 
+    /** the range this field is a view of, null if made by a plugin */
+    FieldRange range;
+    /** the index in the range */
+    int element;
     Report report;
     Collection collection;
     int physical;
@@ -74,7 +84,8 @@ public final class Field {
     int unitExponent;
     int unit;
 
-    int mask;
+    /** bits of the value in the 64 bits from the offset byte */
+    long mask;
     int offsetByte;
     int startBit;
     /** data size considered startBits shift */
@@ -88,6 +99,10 @@ public final class Field {
         return usage & 0xffff;
     }
 
+    public Report getReport() {
+        return report;
+    }
+
     public int getFeature() {
         return flags;
     }
@@ -108,13 +123,36 @@ public final class Field {
         return physicalMaximum;
     }
 
-    /** for parser */
-    Field(Collection collection) {
-        this.collection = collection;
-        collection.add(this);
+    /** a view of an element of a run */
+    Field(FieldRange range, int element) {
+        this.range = range;
+        this.element = element;
+        this.report = range.report;
+        this.collection = range.collection;
+        this.physical = range.physical;
+        this.logical = range.logical;
+        this.application = range.application;
+        this.usage = range.getElementUsage(element);
+        this.flags = range.flags;
+        this.reportOffset = range.getOffset(element);
+        this.reportSize = range.reportSize;
+        this.reportType = range.reportType;
+        this.logicalMinimum = range.logicalMinimum;
+        this.logicalMaximum = range.logicalMaximum;
+        this.physicalMinimum = range.physicalMinimum;
+        this.physicalMaximum = range.physicalMaximum;
+        this.unitExponent = range.unitExponent;
+        this.unit = range.unit;
+
+        init();
+    }
+
+    /** a field of a range is deserialized into the view of the range, not a copy */
+    @Serial
+    private Object readResolve() {
+        return range != null ? range.getField(element) : this;
     }
 
-    /** not good way (for performance) */
     void init() {
         this.offsetByte = reportOffset / 8;
         this.startBit = reportOffset % 8;
@@ -139,14 +177,13 @@ public final class Field {
 
     /** */
     boolean isBytes() {
-        return Feature.containsIn(BUFFERED_BYTE, flags);
+        return (flags & BUFFERED_BYTE.mask) != 0;
     }
 
-    /** */
-    int createMask() {
-        String x = new StringBuilder(toBit()).reverse().toString(); // MSB <- LSB
-logger.log(Level.DEBUG, x);
-        return Integer.parseInt(x, 2);
+    /** bits of the value in the 64 bits from the offset byte */
+    long createMask() {
+        int bits = isBytes() ? reportSize * 8 : reportSize;
+        return (bits >= 64 ? -1L : (1L << bits) - 1) << startBit;
     }
 
     /** LSB -> MSB */
@@ -185,51 +222,49 @@ logger.log(Level.DEBUG, x);
         out.printf(tab + "     unit exp: %d\n", unitExponent);
     }
 
-    /** TODO when length + startBits > 64bit */
-    private int getValueInternal(byte[] data) {
-        int value = 0;
-
-        int p = offsetByte + 1; // + 1 for the report id at the first byte
-
-        switch (dataBytes) {
-        case 8: value |= (data[p + 7]) << 56; // fall-through
-        case 7: value |= (data[p + 6]) << 48; // fall-through
-        case 6: value |= (data[p + 5]) << 40; // fall-through
-        case 5: value |= (data[p + 4]) << 32; // fall-through
-        case 4: value |= (data[p + 3]) << 24; // fall-through
-        case 3: value |= (data[p + 2]) << 16; // fall-through
-        case 2: value |= (data[p + 1]) << 8;  // fall-through
-        case 1: value |=  data[p + 0];
-        }
-
-        return value;
+    /** stores the low {@link #dataBytes} bytes of raw little endian */
+    private void store(byte[] data, int p, long raw) {
+        for (int b = 0; b < dataBytes; b++)
+            data[p + b] = (byte) (raw >>> (b * 8));
     }
 
-    /** TODO when length + startBits > 64bit */
-    private void setValueInternal(byte[] data, int value) {
-        int p = offsetByte + 1; // + 1 for the report id at the first byte
-
-        switch (dataBytes) {
-        case 8: data[p + 7] = (byte) ((value >> 56) & 0xff); // fall-through
-        case 7: data[p + 6] = (byte) ((value >> 48) & 0xff); // fall-through
-        case 6: data[p + 5] = (byte) ((value >> 40) & 0xff); // fall-through
-        case 5: data[p + 4] = (byte) ((value >> 32) & 0xff); // fall-through
-        case 4: data[p + 3] = (byte) ((value >> 24) & 0xff); // fall-through
-        case 3: data[p + 2] = (byte) ((value >> 16) & 0xff); // fall-through
-        case 2: data[p + 1] = (byte) ((value >> 8 ) & 0xff); // fall-through
-        case 1: data[p + 0] = (byte) ( value        & 0xff); // fall-through
-        }
+    /** stores the low {@link #dataBytes} bytes of raw little endian */
+    private void store(ByteBuffer data, int p, long raw) {
+        for (int b = 0; b < dataBytes; b++)
+            data.put(p + b, (byte) (raw >>> (b * 8)));
     }
 
     /** utility */
     public int getValue(byte[] data) {
-logger.log(Level.TRACE, () -> String.format("masked: 0x%02x, %s, moved: 0x%02x, %s", getValueInternal(data) & mask, StringUtil.toBits(getValueInternal(data) & mask), (getValueInternal(data) & mask) >> startBit, StringUtil.toBits((getValueInternal(data) & mask) >> startBit)));
-        return (getValueInternal(data) & mask) >> startBit;
+        long raw = ReportDecoder.load(data, offsetByte + 1); // + 1 for the report id at the first byte
+logger.log(Level.TRACE, () -> String.format("masked: 0x%02x, %s, moved: 0x%02x, %s", raw & mask, StringUtil.toBits((int) (raw & mask)), (raw & mask) >>> startBit, StringUtil.toBits((int) ((raw & mask) >>> startBit))));
+        return (int) ((raw & mask) >>> startBit);
     }
 
     /** utility */
     public void setValue(byte[] data, int v) {
-        setValueInternal(data, ((getValueInternal(data) & ~mask) | ((v << startBit) & mask)));
+        int p = offsetByte + 1; // + 1 for the report id at the first byte
+        long raw = ReportDecoder.load(data, p);
+        store(data, p, (raw & ~mask) | (((long) v << startBit) & mask));
+    }
+
+    /**
+     * utility
+     * @param data a report from its position (the report id), heap or direct. the position is not changed
+     */
+    public int getValue(ByteBuffer data) {
+        long raw = ReportDecoder.load(data, data.position() + offsetByte + 1);
+        return (int) ((raw & mask) >>> startBit);
+    }
+
+    /**
+     * utility
+     * @param data a report from its position (the report id), heap or direct. the position is not changed
+     */
+    public void setValue(ByteBuffer data, int v) {
+        int p = data.position() + offsetByte + 1;
+        long raw = ReportDecoder.load(data, p);
+        store(data, p, (raw & ~mask) | (((long) v << startBit) & mask));
     }
 
     @Override
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb.parser;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import net.java.games.input.usb.parser.HidParser.Feature;
+
+
+/**
+ * A run of the identical fields of one input, output or feature item.
+ * <p>
+ * The fields share everything but the offset and the usage, so a run is
+ * stored once with the count and the usages, a range of usages (e.g. usage
+ * minimum and maximum) is stored as the first usage and the count of the usages.
+ * {@link Field}s of the elements are created only when asked for.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+public final class FieldRange implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    Report report;
+    Collection collection;
+    int physical;
+    int logical;
+    int application;
+    /** @see Feature */
+    int flags;
+    /** bits of the first element (first one byte (report id) is excluded) */
+    int reportOffset;
+    /** unit depends on BUFFERED_BYTE of flags [bytes/bits] */
+    int reportSize;
+    /** the number of the elements */
+    int reportCount;
+    int reportType;
+    int logicalMinimum;
+    int logicalMaximum;
+    int physicalMinimum;
+    int physicalMaximum;
+    int unitExponent;
+    int unit;
+
+    /** the number of the usages */
+    int usageCount;
+    /** the first usage when the usages are consecutive */
+    int usageMinimum;
+    /** null when the usages are consecutive */
+    int[] usages;
+
+    /** created on demand */
+    private transient Field[] fields;
+
+    /** for parser */
+    FieldRange(Collection collection, int[] usages, int usageCount) {
+        this.collection = collection;
+        this.usageCount = usageCount;
+        boolean consecutive = true;
+        for (int i = 1; i < usageCount && consecutive; i++)
+            consecutive = usages[i] == usages[0] + i;
+        if (consecutive) {
+            this.usageMinimum = usageCount == 0 ? 0 : usages[0];
+        } else {
+            this.usages = new int[usageCount];
+            System.arraycopy(usages, 0, this.usages, 0, usageCount);
+        }
+        collection.add(this);
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    /** @return the number of the elements */
+    public int getCount() {
+        return reportCount;
+    }
+
+    public int getFeature() {
+        return flags;
+    }
+
+    /** @return true if an element holds an index of the usages, not a value */
+    public boolean isArray() {
+        return (flags & (Feature.VARIABLE.mask | Feature.CONSTANT.mask)) == 0;
+    }
+
+    /** @return the number of the usages */
+    public int getUsageCount() {
+        return usageCount;
+    }
+
+    /**
+     * @param index of the usages, not checked
+     * @return usage page &lt;&lt; 16 | usage id
+     */
+    public int getUsage(int index) {
+        return usages == null ? usageMinimum + index : usages[index];
+    }
+
+    /** @return the usage of the element, the last usage repeats for the rest of the elements, 0 if no usage */
+    public int getElementUsage(int element) {
+        return usageCount == 0 ? 0 : getUsage(Math.min(element, usageCount - 1));
+    }
+
+    /** @return bits of the element (first one byte (report id) is excluded) */
+    public int getOffset(int element) {
+        return reportOffset + reportSize * element;
+    }
+
+    /** @return the field of the element, created on the first call */
+    public synchronized Field getField(int element) {
+        if (element < 0 || element >= reportCount)
+            throw new IndexOutOfBoundsException(element);
+        Field[] fields = this.fields;
+        if (fields == null) {
+            fields = new Field[reportCount];
+            this.fields = fields;
+        }
+        Field field = fields[element];
+        if (field == null) {
+            field = new Field(this, element);
+            fields[element] = field;
+        }
+        return field;
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * Process wide cache of parsed and compiled report descriptors.
+ * <p>
+ * Identical devices share one {@link Entry}, looked up by the SHA-256 of the
+ * descriptor bytes. The vendor and product ids are a hint recorded with the entry,
+ * devices of different ids with the same descriptor share it too.
+ * The least recently used entries are evicted over the maximum size.
+ * <p>
+ * With a directory, entries are also persisted there and read back instead of
+ * parsing the descriptor again, e.g. after a restart.
+ * <p>
+ * system properties
+ * <ul>
+ *  <li>net.java.games.input.usb.parser.HidDescriptorCache.size ... maximum entries of the default cache, default 64</li>
+ *  <li>net.java.games.input.usb.parser.HidDescriptorCache.directory ... directory to persist the default cache, not persisted if not set</li>
+ * </ul>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+public final class HidDescriptorCache {
+
+    private static final Logger log = Logger.getLogger(HidDescriptorCache.class.getName());
+
+    /**
+     * the format of persisted entries, a part of the file name.
+     * bump this when the serialized form of any class of an entry changes,
+     * files of other formats are never read.
+     */
+    static final int FORMAT_VERSION = 2;
+
+    /** the file extension of persisted entries */
+    private static final String SUFFIX = ".v" + FORMAT_VERSION + ".hiddesc";
+
+    /** only the classes of an entry are deserialized, and the graph is limited */
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=64;maxarray=65536;maxrefs=1000000;maxbytes=16777216;" +
+            "net.java.games.input.usb.parser.HidDescriptorCache$Entry;" +
+            "net.java.games.input.usb.parser.Collection;" +
+            "net.java.games.input.usb.parser.Report;" +
+            "net.java.games.input.usb.parser.Field;" +
+            "net.java.games.input.usb.parser.FieldRange;" +
+            "net.java.games.input.usb.parser.ReportDecoder;" +
+            "[Lnet.java.games.input.usb.parser.Field;" +
+            "java.util.ArrayList;java.util.LinkedList;java.util.HashMap;" +
+            "java.util.Collections$UnmodifiableCollection;java.util.Collections$UnmodifiableList;" +
+            "java.util.Collections$UnmodifiableRandomAccessList;java.util.Collections$UnmodifiableMap;" +
+            "[Ljava.util.Map$Entry;[Ljava.lang.Object;" +
+            "java.lang.Integer;java.lang.Number;" +
+            "[I;[J;[Z;[F;!*");
+
+    /** A parsed descriptor, shared between devices, must not be modified. */
+    public static final class Entry implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final String hash;
+        private final int vendorId;
+        private final int productId;
+        private final List<Collection> collections;
+        private final List<Report> reports;
+        /** input report decoders by report id */
+        private final Map<Integer, ReportDecoder> decoders;
+
+        private Entry(String hash, int vendorId, int productId, HidParser parser, Collection root) {
+            this.hash = hash;
+            this.vendorId = vendorId;
+            this.productId = productId;
+            this.collections = Collections.unmodifiableList(new ArrayList<>(root.getChildren()));
+            this.reports = Collections.unmodifiableList(new ArrayList<>(parser.getReports()));
+            Map<Integer, ReportDecoder> decoders = new HashMap<>();
+            for (Report report : reports) {
+                if (report.getType() != HidParser.HID_INPUT_REPORT)
+                    continue;
+                try {
+                    decoders.put(report.getId(), ReportDecoder.compile(report));
+                } catch (IllegalArgumentException e) {
+                    log.fine("report " + report.getId() + " is not compiled: " + e.getMessage());
+                }
+            }
+            this.decoders = Collections.unmodifiableMap(decoders);
+        }
+
+        /** @return hex of the SHA-256 of the descriptor */
+        public String getHash() {
+            return hash;
+        }
+
+        /** @return the vendor id of the device parsed first */
+        public int getVendorId() {
+            return vendorId;
+        }
+
+        /** @return the product id of the device parsed first */
+        public int getProductId() {
+            return productId;
+        }
+
+        /** @return the top level (application) collections */
+        public List<Collection> getCollections() {
+            return collections;
+        }
+
+        public List<Report> getReports() {
+            return reports;
+        }
+
+        /**
+         * @param type {@link HidParser#HID_INPUT_REPORT}, {@link HidParser#HID_OUTPUT_REPORT} or {@link HidParser#HID_FEATURE_REPORT}
+         * @return null if not found
+         */
+        public Report getReport(int type, int id) {
+            for (Report report : reports)
+                if (report.getType() == type && report.getId() == id)
+                    return report;
+            return null;
+        }
+
+        /** @return the compiled input report, null if not found or not compilable */
+        public ReportDecoder getDecoder(int reportId) {
+            return decoders.get(reportId);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%04x:%04x %s", vendorId, productId, hash);
+        }
+    }
+
+    private static volatile HidDescriptorCache defaultCache;
+
+    /** @return the process wide cache configured by the system properties */
+    public static HidDescriptorCache getDefault() {
+        HidDescriptorCache cache = defaultCache;
+        if (cache == null) {
+            synchronized (HidDescriptorCache.class) {
+                cache = defaultCache;
+                if (cache == null) {
+                    int size = Integer.getInteger("net.java.games.input.usb.parser.HidDescriptorCache.size", 64);
+                    String directory = System.getProperty("net.java.games.input.usb.parser.HidDescriptorCache.directory");
+                    cache = new HidDescriptorCache(size, directory == null ? null : Path.of(directory));
+                    defaultCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private final int maxEntries;
+    private final Path directory;
+    private final Map<String, Entry> entries;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * @param maxEntries the maximum number of entries in memory
+     * @param directory to persist entries, null not to persist
+     */
+    public HidDescriptorCache(int maxEntries, Path directory) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("maxEntries: " + maxEntries);
+        this.maxEntries = maxEntries;
+        this.directory = directory;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > HidDescriptorCache.this.maxEntries;
+            }
+        };
+    }
+
+    /** @return the hex of the SHA-256 of the descriptor */
+    static String hash(byte[] descriptor, int length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(descriptor, 0, length);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** @see #get(byte[], int, int, int) */
+    public Entry get(byte[] descriptor, int vendorId, int productId) {
+        return get(descriptor, descriptor.length, vendorId, productId);
+    }
+
+    /**
+     * Looks up a descriptor, parses it if it is not cached.
+     *
+     * @param descriptor report descriptor bytes
+     * @param length the length of the descriptor
+     * @param vendorId hint of the device
+     * @param productId hint of the device
+     * @throws IllegalStateException the descriptor is broken
+     */
+    public Entry get(byte[] descriptor, int length, int vendorId, int productId) {
+        String hash = hash(descriptor, length);
+        synchronized (this) {
+            Entry entry = entries.get(hash);
+            if (entry != null) {
+                hitCount++;
+                if (entry.vendorId != vendorId || entry.productId != productId)
+                    log.finer(String.format("%04x:%04x shares %s", vendorId, productId, entry));
+                return entry;
+            }
+            missCount++;
+        }
+        // parsers are independent, devices enumerated in parallel are parsed in parallel
+        Entry entry = load(hash);
+        if (entry == null) {
+            HidParser parser = new HidParser();
+            Collection root = parser.parse(Arrays.copyOf(descriptor, length), length);
+            entry = new Entry(hash, vendorId, productId, parser, root);
+            store(entry);
+        }
+        synchronized (this) {
+            Entry raced = entries.putIfAbsent(hash, entry);
+            return raced != null ? raced : entry;
+        }
+    }
+
+    /** @return null if not persisted or unreadable */
+    private Entry load(String hash) {
+        if (directory == null)
+            return null;
+        Path file = directory.resolve(hash + SUFFIX);
+        if (!Files.exists(file))
+            return null;
+        try (InputStream is = Files.newInputStream(file);
+             ObjectInputStream ois = new ObjectInputStream(is)) {
+            ois.setObjectInputFilter(FILTER);
+            Entry entry = (Entry) ois.readObject();
+            if (!hash.equals(entry.hash))
+                throw new IOException("hash mismatch: " + entry.hash);
+log.finer("loaded: " + entry);
+            return entry;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            log.log(Level.FINE, "ignore persisted " + file + ": " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /** persists the entry atomically, failures are ignored */
+    private void store(Entry entry) {
+        if (directory == null)
+            return;
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, entry.hash, ".tmp");
+            try (OutputStream os = Files.newOutputStream(temp);
+                 ObjectOutputStream oos = new ObjectOutputStream(os)) {
+                oos.writeObject(entry);
+            }
+            Files.move(temp, directory.resolve(entry.hash + SUFFIX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.log(Level.FINE, "failed to persist " + entry + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** @return the number of entries in memory */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** discards the entries in memory, persisted ones are kept */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+}
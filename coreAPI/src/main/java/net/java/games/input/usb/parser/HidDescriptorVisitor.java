@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb.parser;
+
+import net.java.games.input.usb.parser.HidParser.Global;
+import net.java.games.input.usb.parser.HidParser.GlobalTag;
+
+
+/**
+ * Receives the items of a report descriptor one by one from
+ * {@link HidParser#visit(byte[], int, HidDescriptorVisitor)},
+ * without building the {@link Collection} tree nor {@link Field}s.
+ * <p>
+ * Every callback returns whether to continue, return false to stop
+ * the scan there, e.g. when the needed part of a large descriptor is found.
+ * The defaults do nothing and continue, override only the ones needed.
+ * Arguments are valid only during the call, copy them to keep.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+public interface HidDescriptorVisitor {
+
+    /**
+     * A collection item.
+     *
+     * @param type 0: physical, 1: application, 2: logical, 3: report
+     * @param usagePair usage page &lt;&lt; 16 | usage id of the collection, same as {@link Collection#getUsagePair()}
+     * @param depth 1 for a top level collection
+     */
+    default boolean startCollection(int type, int usagePair, int depth) {
+        return true;
+    }
+
+    /**
+     * An end collection item.
+     *
+     * @param type the type of the closed collection
+     * @param usagePair the usage of the closed collection
+     * @param depth of the closed collection, 1 for a top level collection
+     */
+    default boolean endCollection(int type, int usagePair, int depth) {
+        return true;
+    }
+
+    /**
+     * A usage, usage ranges are reported usage by usage.
+     *
+     * @param usagePair usage page &lt;&lt; 16 | usage id
+     */
+    default boolean usage(int usagePair) {
+        return true;
+    }
+
+    /**
+     * A global item.
+     *
+     * @param tag the item
+     * @param global the global state after the item
+     */
+    default boolean global(GlobalTag tag, Global global) {
+        return true;
+    }
+
+    /**
+     * An input, output or feature item, i.e. report count fields of a report.
+     *
+     * @param reportType {@link HidParser#HID_INPUT_REPORT}, {@link HidParser#HID_OUTPUT_REPORT} or {@link HidParser#HID_FEATURE_REPORT}
+     * @param flags bits of {@link HidParser.Feature}
+     * @param bitOffset bit offset of the first field in the report, excluding the report id
+     * @param global the report id, size, count and the logical and physical ranges of the fields
+     * @param usages usages of the fields, the last one repeats for the rest of the fields
+     * @param usageCount valid length of usages, 0 if the fields have no usage
+     */
+    default boolean field(int reportType, int flags, int bitOffset, Global global, int[] usages, int usageCount) {
+        return true;
+    }
+}
@@ -31,10 +31,13 @@
 package net.java.games.input.usb.parser;
 
 import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.EnumSet;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -52,6 +55,13 @@ import java.util.stream.Collectors;
  *  Report Count
  * </pre>
  *
+ * An instance is not thread safe, but distinct instances share no state
+ * and can parse concurrently. Trees returned by {@link #parse(byte[], int)}
+ * stay valid after the next parse.
+ * <p>
+ * {@link #visit(byte[], int, HidDescriptorVisitor)} streams the items to a visitor
+ * instead, for the callers that need only a part of a descriptor.
+ *
  * @see "http://msdn.microsoft.com/en-us/library/windows/hardware/hh975383.aspx"
  * @see "https://github.com/nyholku/purejavahidapi"
  */
@@ -59,17 +69,32 @@ public class HidParser {
 
     private static final Logger logger = Logger.getLogger(HidParser.class.getName());
 
-    private static final Collection rootCollection = new Collection(null, 0, 0xff);
+    /** a new one for each parse, so that returned trees stay valid */
+    private Collection rootCollection;
     private Collection topCollection;
     private int collectionUsage; // TODO adhoc
-    private final Deque<Global> globalStack = new LinkedList<>();
+    /** type and usage pairs of the open collections, for a visitor instead of the tree */
+    private int[] collectionStack = new int[16];
+    private int collectionDepth;
+    private final Deque<Global> globalStack = new ArrayDeque<>();
     private int delimiterDepth;
     private int parseIndex;
     private byte[] descriptor;
     private int descriptorLength;
-    private Local local;
+    private final Local local = new Local();
     private Global global;
-    private LinkedList<Report> reports;
+    /** reports in the order of registration */
+    private List<Report> reports;
+    /** reports by [type][id] */
+    private final Report[][] reportTable = new Report[3][HID_MAX_IDS];
+    /** reused for every item */
+    private final Item item = new Item();
+    /** null when building the tree */
+    private HidDescriptorVisitor visitor;
+    /** bit sizes of reports by [type][id] for a visitor */
+    private final int[][] reportSizes = new int[3][HID_MAX_IDS];
+    /** a visitor stopped the scan */
+    private boolean stopped;
 
     public final static int HID_MAX_FIELDS = 256;
 
@@ -77,9 +102,9 @@ public class HidParser {
     private final static int HID_MAX_APPLICATIONS = 16;
     private final static int HID_MAX_USAGES = 12288;
 
-    private static final int HID_INPUT_REPORT = 0;
-    private static final int HID_OUTPUT_REPORT = 1;
-    private static final int HID_FEATURE_REPORT = 2;
+    public static final int HID_INPUT_REPORT = 0;
+    public static final int HID_OUTPUT_REPORT = 1;
+    public static final int HID_FEATURE_REPORT = 2;
 
     private static final int HID_COLLECTION_PHYSICAL = 0;
     private static final int HID_COLLECTION_APPLICATION = 1;
@@ -96,6 +121,7 @@ public class HidParser {
         RESERVED { @Override Tag valueOf(int tag) { throw new UnsupportedOperationException(); }},
         LONG     { @Override Tag valueOf(int tag) { throw new UnsupportedOperationException(); }};
         abstract Tag valueOf(int tag);
+        private static final ItemType[] VALUES = values();
     }
 
     public enum MainTag implements Tag { // order import, do not change
@@ -121,7 +147,7 @@ public class HidParser {
         },
         COLLECTION {
             @Override public void parse(HidParser context, Item item) {
-                context.topCollection = new Collection(context.topCollection, context.collectionUsage, item.uValue & 3);
+                context.startCollection(item.uValue & 3);
             }
         },
         FEATURE {
@@ -132,17 +158,16 @@ public class HidParser {
         },
         ENDCOLLECTION {
             @Override public void parse(HidParser context, Item item) {
-                if (context.topCollection.getParent() == null)
-                    throw new IllegalStateException("collection stack underflow");
-                context.topCollection = context.topCollection.getParent();
+                context.endCollection();
                 context.local.reset();
             }
         };
         static Tag valueOf(int tag) {
-            if (tag < 8 || tag >= values().length)
+            if (tag < 8 || tag >= VALUES.length)
                 throw new IllegalStateException(String.format("illegal/unsupported main tag %d", tag));
-            return values()[tag];
+            return VALUES[tag];
         }
+        private static final MainTag[] VALUES = values();
     }
 
     public enum LocalTag implements Tag { // order import, do not change
@@ -154,18 +179,23 @@ public class HidParser {
                 int usage = item.uValue;
                 if (item.size <= 2) { // FIXME is this in the spec?
                     usage = (context.global.usagePage << 16) + usage;
-logger.finer(String.format("item.size <= 2: %08x", usage));
+int u = usage;
+logger.finer(() -> String.format("item.size <= 2: %08x", u));
                 }
 
-                if (context.topCollection == rootCollection) { // TODO adhoc
+                if (context.collectionDepth == 0) { // TODO adhoc
                     // rootCollection usage ignored
                     context.collectionUsage = usage;
-logger.finer(String.format("topCollection is rootCollection: %08x", usage));
+int u = usage;
+logger.finer(() -> String.format("topCollection is rootCollection: %08x", u));
+                    if (context.visitor != null && !context.visitor.usage(usage))
+                        context.stopped = true;
                     return;
                 }
                 if (context.local.delimiterBranch > 1) {
                     // alternative usage ignored
-logger.finer(String.format("context.local.delimiterBranch > 1: %08x", usage));
+int u = usage;
+logger.finer(() -> String.format("context.local.delimiterBranch > 1: %08x", u));
                     return;
                 }
                 context.addUsage(usage);
@@ -173,15 +203,14 @@ logger.finer(String.format("context.local.delimiterBranch > 1: %08x", usage));
         },
         USAGE_MINIMUM {
             @Override public void parse(HidParser context, Item item) {
-logger.finer("USAGE_MAXIMUM: " + item.uValue + ", " + context.local.delimiterBranch);
+logger.finer(() -> "USAGE_MINIMUM: " + item.uValue + ", " + context.local.delimiterBranch);
                 context.local.usageMinimum = item.uValue;
             }
         },
         USAGE_MAXIMUM {
             @Override public void parse(HidParser context, Item item) {
-logger.finer("USAGE_MAXIMUM: " + item.uValue + ", " + context.local.delimiterBranch);
+logger.finer(() -> "USAGE_MAXIMUM: " + item.uValue + ", " + context.local.delimiterBranch);
                 for (int n = context.local.usageMinimum; n <= item.uValue; n++) {
-logger.finer("USAGE_MAXIMUM: " + n);
                     context.addUsage(context.global.usagePage << 16 | n);
                 }
             }
@@ -207,10 +236,11 @@ logger.finer("USAGE_MAXIMUM: " + n);
             }
         };
         static Tag valueOf(int tag) {
-            if (tag < 0 || tag >= values().length)
+            if (tag < 0 || tag >= VALUES.length)
                 throw new IllegalStateException(String.format("illegal/unsupported local tag %d", tag));
-            return values()[tag];
+            return VALUES[tag];
         }
+        private static final LocalTag[] VALUES = values();
     }
 
     public enum GlobalTag implements Tag {
@@ -237,7 +267,7 @@ logger.finer("USAGE_MAXIMUM: " + n);
         PHYSICAL_MAXIMUM {
             @Override public void parse(HidParser context, Item item) {
                 context.global.physicalMaximum = item.sValue;
-logger.finer("global.physicalMaximum " + context.global.physicalMaximum);
+logger.finer(() -> "global.physicalMaximum " + context.global.physicalMaximum);
             }
         },
         UNIT_EXPONENT {
@@ -261,6 +291,8 @@ logger.finer("global.physicalMaximum " + context.global.physicalMaximum);
             @Override public void parse(HidParser context, Item item) {
                 if (item.uValue == 0)
                     throw new IllegalStateException("report_id 0 is invalid");
+                if (item.uValue >= HID_MAX_IDS)
+                    throw new IllegalStateException(String.format("invalid report id %d", item.uValue));
                 context.global.reportId = item.uValue;
             }
         },
@@ -284,10 +316,11 @@ logger.finer("global.physicalMaximum " + context.global.physicalMaximum);
             }
         };
         static Tag valueOf(int tag) {
-            if (tag < 0 || tag >= values().length)
+            if (tag < 0 || tag >= VALUES.length)
                 throw new IllegalStateException(String.format("illegal/unsupported global tag %d", tag));
-            return values()[tag];
+            return VALUES[tag];
         }
+        private static final GlobalTag[] VALUES = values();
     }
 
     public enum Feature {
@@ -315,7 +348,7 @@ logger.finer("global.physicalMaximum " + context.global.physicalMaximum);
             return Arrays.stream(values()).map(e -> es.contains(e) ? e.on : e.off).collect(Collectors.joining(", "));
         }
         public static boolean containsIn(Feature e, int v) {
-            return valueOf(v).contains(e);
+            return (v & e.mask) != 0;
         }
     }
 
@@ -325,20 +358,19 @@ logger.finer("global.physicalMaximum " + context.global.physicalMaximum);
 
     private static final class Local {
 
-        public int[] usages = new int[HID_MAX_USAGES];
-        public int[] collectionIndex = new int[HID_MAX_USAGES];
+        /** valid until usageIndex, grows up to HID_MAX_USAGES */
+        public int[] usages = new int[64];
         public int usageIndex;
         public int usageMinimum;
         public int delimiterDepth;
         public int delimiterBranch;
 
+        /** O(1), usages beyond usageIndex are never read */
         void reset() {
             usageIndex = 0;
             usageMinimum = 0;
             delimiterDepth = 0;
             delimiterBranch = 0;
-            Arrays.fill(usages, 0);
-            Arrays.fill(collectionIndex, 0);
         }
     }
 
@@ -355,6 +387,48 @@ logger.finer("global.physicalMaximum " + context.global.physicalMaximum);
         int reportSize;
         int reportCount;
 
+        public int getUsagePage() {
+            return usagePage;
+        }
+
+        public int getLogicalMinimum() {
+            return logicalMinimum;
+        }
+
+        public int getLogicalMaximum() {
+            return logicalMaximum;
+        }
+
+        public int getPhysicalMinimum() {
+            return physicalMinimum;
+        }
+
+        public int getPhysicalMaximum() {
+            return physicalMaximum;
+        }
+
+        public int getUnitExponent() {
+            return unitExponent;
+        }
+
+        public int getUnit() {
+            return unit;
+        }
+
+        /** @return 0 if the descriptor has no report id */
+        public int getReportId() {
+            return reportId;
+        }
+
+        /** @return bits of a field */
+        public int getReportSize() {
+            return reportSize;
+        }
+
+        public int getReportCount() {
+            return reportCount;
+        }
+
         @Override
         public Object clone() {
             try {
@@ -376,7 +450,8 @@ logger.finer("global.physicalMaximum " + context.global.physicalMaximum);
         int uValue;
         int sValue;
 
-        Item(int size, ItemType type, int tag, int value) {
+        /** sets the next item */
+        void set(int size, ItemType type, int tag, int value) {
             this.size = size;
             this.type = type;
             this.tag = type.valueOf(tag);
@@ -403,7 +478,7 @@ logger.finer("global.physicalMaximum " + context.global.physicalMaximum);
 logger.finer("EOD");
                 return false;
             }
-            Item item;
+            Item item = context.item;
             int at = context.parseIndex;
             int prev = context.descriptor[context.parseIndex++] & 0xff;
 
@@ -419,7 +494,7 @@ logger.finer("EOD");
                 if (context.parseIndex + size - 1 >= context.descriptorLength)
                     throw new IllegalStateException("unexpected end of data white fetching long item");
                 context.parseIndex += size;
-                item = new Item(size, ItemType.LONG, tag, 0);
+                item.set(size, ItemType.LONG, tag, 0);
             } else {
                 int type = (prev >> 2) & 3;
                 int tag = (prev >> 4) & 15;
@@ -453,9 +528,9 @@ logger.finer("EOD");
                 }
 
                 if (tag == 0 && type == 0) throw new EORException();
-                if (type >= ItemType.values().length)
+                if (type >= ItemType.VALUES.length)
                     throw new IllegalStateException(String.format("illegal/unsupported type %d", type));
-                item = new Item(size, ItemType.values()[type], tag, value);
+                item.set(size, ItemType.VALUES[type], tag, value);
             }
 
             if (logger.isLoggable(Level.FINEST)) {
@@ -465,28 +540,31 @@ logger.finer("EOD");
                 out.printf("[%3d] = 0x%02X:  size %d  type %-8s  tag %-20s  value 0x%6$08X (%6$d)\n", at, prev, item.size, item.type, tags, item.sValue);
             }
             item.tag.parse(context, item);
+            if (context.visitor != null && item.type == ItemType.GLOBAL && !context.visitor.global((GlobalTag) item.tag, context.global))
+                context.stopped = true;
             return true;
         }
     }
 
     private Report registerReport(int type, int id) {
-        for (Report r : reports)
-            if (r.type == type && r.id == id)
-                return r;
-        Report r = new Report(type, id, topCollection);
-        reports.add(r);
+        Report r = reportTable[type][id];
+        if (r == null) {
+            r = new Report(type, id, topCollection);
+            reportTable[type][id] = r;
+            reports.add(r);
+        }
         return r;
     }
 
-    private Field registerField(Report report, int values) {
-        if (report.maxField == HID_MAX_FIELDS)
+    private FieldRange registerRange(Report report) {
+        if (report.ranges.size() == HID_MAX_FIELDS)
             throw new IllegalStateException("too many fields in report");
 
-        Field field = new Field(topCollection);
-        report.fields[report.maxField++] = field;
-        field.report = report;
+        FieldRange range = new FieldRange(topCollection, local.usages, local.usageIndex);
+        report.ranges.add(range);
+        range.report = report;
 
-        return field;
+        return range;
     }
 
     private int lookUpCollection(int type) {
@@ -498,13 +576,48 @@ logger.finer("EOD");
     }
 
     private void addUsage(int usagePair) {
-        if (local.usageIndex >= local.usages.length)
-            throw new IllegalStateException("usage index exceeded");
-logger.finer(String.format("usage: %08x", usagePair));
+        if (local.usageIndex >= local.usages.length) {
+            if (local.usages.length >= HID_MAX_USAGES)
+                throw new IllegalStateException("usage index exceeded");
+            local.usages = Arrays.copyOf(local.usages, Math.min(local.usages.length * 2, HID_MAX_USAGES));
+        }
+logger.finer(() -> String.format("usage: %08x", usagePair));
         local.usages[local.usageIndex++] = usagePair;
+        if (visitor != null && !visitor.usage(usagePair))
+            stopped = true;
+    }
+
+    private void startCollection(int type) {
+        if (collectionDepth == collectionStack.length / 2)
+            collectionStack = Arrays.copyOf(collectionStack, collectionStack.length * 2);
+        collectionStack[collectionDepth * 2] = type;
+        collectionStack[collectionDepth * 2 + 1] = collectionUsage;
+        collectionDepth++;
+        if (visitor == null)
+            topCollection = new Collection(topCollection, collectionUsage, type);
+        else if (!visitor.startCollection(type, collectionUsage, collectionDepth))
+            stopped = true;
+    }
+
+    private void endCollection() {
+        if (collectionDepth == 0)
+            throw new IllegalStateException("collection stack underflow");
+        collectionDepth--;
+        if (visitor == null)
+            topCollection = topCollection.getParent();
+        else if (!visitor.endCollection(collectionStack[collectionDepth * 2], collectionStack[collectionDepth * 2 + 1], collectionDepth + 1))
+            stopped = true;
     }
 
     private void addField(int reportType, int flags) {
+        if (visitor != null) {
+            int offset = reportSizes[reportType][global.reportId];
+            reportSizes[reportType][global.reportId] += global.reportSize * global.reportCount;
+            if (!visitor.field(reportType, flags, offset, global, local.usages, local.usageIndex))
+                stopped = true;
+            return;
+        }
+
         Report report = registerReport(reportType, global.reportId);
 
 //		if ((global.logicalMinimum < 0 &&
@@ -517,66 +630,110 @@ logger.finer(String.format("usage: %08x", usagePair));
 //            return;
 //        }
 
-logger.finer(String.format("ADD FIELD: global: %d", global.reportCount));
-        int j = 0;
-        for (int i = 0; i < global.reportCount; i++) {
-            if (i < local.usageIndex)
-                j = i;
-            int offset = report.size;
-            report.size += global.reportSize;
-            Field field = registerField(report, global.reportCount);
-
-            field.physical = lookUpCollection(HID_COLLECTION_PHYSICAL);
-            field.logical = lookUpCollection(HID_COLLECTION_LOGICAL);
-            field.application = lookUpCollection(HID_COLLECTION_APPLICATION);
-
-            field.usage = local.usages[j];
-            field.flags = flags;
-            field.reportOffset = offset;
-            field.reportType = reportType;
-            field.reportSize = global.reportSize;
-            field.logicalMinimum = global.logicalMinimum;
-            field.logicalMaximum = global.logicalMaximum;
-            field.physicalMinimum = global.physicalMinimum;
-            field.physicalMaximum = global.physicalMaximum;
-            field.unitExponent = global.unitExponent;
-            field.unit = global.unit;
-            field.init();
-logger.finer(String.format("ADD FIELD(%d): %08x (%d)", i, field.usage, j));
-        }
+logger.finer(() -> String.format("ADD FIELD: global: %d", global.reportCount));
+        // one run for all the elements, fields of the elements are created on demand
+        FieldRange range = registerRange(report);
+
+        range.physical = lookUpCollection(HID_COLLECTION_PHYSICAL);
+        range.logical = lookUpCollection(HID_COLLECTION_LOGICAL);
+        range.application = lookUpCollection(HID_COLLECTION_APPLICATION);
+
+        range.flags = flags;
+        range.reportOffset = report.size;
+        range.reportType = reportType;
+        range.reportSize = global.reportSize;
+        range.reportCount = global.reportCount;
+        range.logicalMinimum = global.logicalMinimum;
+        range.logicalMaximum = global.logicalMaximum;
+        range.physicalMinimum = global.physicalMinimum;
+        range.physicalMaximum = global.physicalMaximum;
+        range.unitExponent = global.unitExponent;
+        range.unit = global.unit;
+        report.size += global.reportSize * global.reportCount;
+logger.finer(() -> String.format("ADD FIELD: %d x %d bits, %d usages", range.reportCount, range.reportSize, range.usageCount));
     }
 
-    private void reset() {
-        rootCollection.reset();
+    private void reset(HidDescriptorVisitor visitor) {
+        this.visitor = visitor;
+        stopped = false;
+        if (visitor == null) {
+            rootCollection = new Collection(null, 0, 0xff);
+        } else {
+            rootCollection = null;
+            for (int[] sizes : reportSizes)
+                Arrays.fill(sizes, 0);
+        }
         topCollection = rootCollection;
+        collectionDepth = 0;
         collectionUsage = 0;
         globalStack.clear();
         delimiterDepth = 0;
         parseIndex = 0;
         descriptor = null;
         descriptorLength = 0;
-        local = new Local();
+        local.reset();
         global = new Global();
-        reports = new LinkedList<>();
+        reports = new ArrayList<>();
+        for (Report[] table : reportTable)
+            Arrays.fill(table, null);
     }
 
     /** entry point */
     public Collection parse(byte[] descriptor, int length) {
-        reset();
+        run(descriptor, length, null);
+        return rootCollection;
+    }
+
+    /**
+     * Scans a descriptor with a visitor instead of building the tree,
+     * {@link #getReports()} and {@link #getReport(int, int)} are empty after this.
+     *
+     * @return false if the visitor stopped the scan
+     * @throws IllegalStateException the descriptor is broken, found before the visitor stopped
+     */
+    public boolean visit(byte[] descriptor, int length, HidDescriptorVisitor visitor) {
+        if (visitor == null)
+            throw new NullPointerException("visitor");
+        try {
+            run(descriptor, length, visitor);
+            return !stopped;
+        } finally {
+            this.visitor = null;
+        }
+    }
+
+    private void run(byte[] descriptor, int length, HidDescriptorVisitor visitor) {
+        reset(visitor);
         this.descriptor = descriptor;
         this.descriptorLength = length;
         try {
-            while (Item.processNext(this));
+            while (!stopped && Item.processNext(this));
         } catch (EORException e) {
 logger.finer("end of report");
         }
-        if (topCollection.getParent() != null)
+        if (stopped)
+            return;
+
+        if (collectionDepth != 0)
             throw new IllegalStateException("unbalanced collection at end of report description");
 
         if (delimiterDepth > 0)
             throw new IllegalStateException("unbalanced delimiter at end of report description");
+    }
 
-        return rootCollection;
+    /** @return reports of the last parsed descriptor */
+    public List<Report> getReports() {
+        return Collections.unmodifiableList(reports);
+    }
+
+    /**
+     * @param type {@link #HID_INPUT_REPORT}, {@link #HID_OUTPUT_REPORT} or {@link #HID_FEATURE_REPORT}
+     * @return null if not found
+     */
+    public Report getReport(int type, int id) {
+        if (type < 0 || type >= reportTable.length || id < 0 || id >= HID_MAX_IDS)
+            return null;
+        return reportTable[type][id];
     }
 
     public void dump() {
@@ -31,6 +31,11 @@
 package net.java.games.input.usb.parser;
 
 import java.io.PrintStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 
 /**
@@ -38,14 +43,19 @@ import java.io.PrintStream;
  *
  * @see "https://github.com/nyholku/purejavahidapi"
  */
-public final class Report {
+public final class Report implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2L;
 
     int id;
     int type;
     Collection collection;
-    Field[] fields = new Field[HidParser.HID_MAX_FIELDS];
-    int maxField;
+    /** at most {@link HidParser#HID_MAX_FIELDS} */
+    final List<FieldRange> ranges = new ArrayList<>();
     int size;
+    /** views of the ranges, created on demand */
+    private transient List<Field> fields;
 
     Report(int type, int id, Collection collection) {
         this.type = type;
@@ -53,13 +63,45 @@ public final class Report {
         this.collection = collection;
     }
 
+    /** @return the report id, 0 if the descriptor does not use report ids */
+    public int getId() {
+        return id;
+    }
+
+    /** @return {@link HidParser#HID_INPUT_REPORT}, {@link HidParser#HID_OUTPUT_REPORT} or {@link HidParser#HID_FEATURE_REPORT} */
+    public int getType() {
+        return type;
+    }
+
+    /** @return fields of all the elements in the order of their offsets, created on the first call */
+    public synchronized List<Field> getFields() {
+        if (fields == null) {
+            List<Field> fields = new ArrayList<>();
+            for (FieldRange range : ranges)
+                for (int i = 0; i < range.reportCount; i++)
+                    fields.add(range.getField(i));
+            this.fields = Collections.unmodifiableList(fields);
+        }
+        return fields;
+    }
+
+    /** @return runs of the fields in the order of their offsets */
+    public List<FieldRange> getFieldRanges() {
+        return Collections.unmodifiableList(ranges);
+    }
+
+    /** @return the size in bits excluding the report id */
+    public int getSize() {
+        return size;
+    }
+
     void dump(PrintStream out, String tab) {
         HidParser.out.printf(tab + "REPORT-------------------------\n");
         HidParser.out.printf(tab + "         type: %s\n", new String[] {"input", "output", "feature"}[type]);
         HidParser.out.printf(tab + "           id: 0x%02X\n", id);
         HidParser.out.printf(tab + "         size: %d\n", size);
-        for (int i = 0; i < maxField; i++) {
-            fields[i].dump(out, tab + "   ");
+        for (Field field : getFields()) {
+            field.dump(out, tab + "   ");
         }
         HidParser.out.printf(tab + "-------------------------------\n");
     }
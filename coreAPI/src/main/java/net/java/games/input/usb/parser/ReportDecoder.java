@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb.parser;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.java.games.input.usb.parser.HidParser.Feature;
+
+
+/**
+ * Decodes all the data fields of an input report in one pass.
+ * <p>
+ * The layout of a {@link Report} is compiled into flat arrays, so decoding
+ * a report is a loop of a little endian 64 bit load, two shifts and a
+ * multiply add per field, without any call to {@link Field}.
+ * <p>
+ * Values are normalized in the same way as the platform plugins do:
+ * absolute axes of the generic desktop and the simulation pages are mapped
+ * from the logical range onto [-1, 1], all the other fields (buttons,
+ * hat switches, relative axes, arrays and vendor defined values) are decoded
+ * as their logical values. Constant (padding) fields are not decoded.
+ * <p>
+ * Like {@link Field#getValue(byte[])}, the first byte of the data is the report id.
+ * A report in native memory can be decoded in place through a direct {@link ByteBuffer}.
+ * An instance is immutable and can be shared between threads.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+public final class ReportDecoder implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final int USAGE_PAGE_GENERIC_DESKTOP = 0x01;
+    private static final int USAGE_PAGE_SIMULATION = 0x02;
+    private static final int USAGE_HAT_SWITCH = 0x39;
+
+    private final Report report;
+    private final Field[] fields;
+
+    /** byte offset of the field in the data, including the report id */
+    private final int[] offsets;
+    /** shift left dropping the bits above the field */
+    private final int[] lefts;
+    /** shift right dropping the bits below the field, arithmetic if signed */
+    private final int[] rights;
+    private final boolean[] signed;
+    /** normalized = logical * scale + bias, clamped to [low, high] */
+    private final float[] scales;
+    private final float[] biases;
+    private final float[] lows;
+    private final float[] highs;
+    /** bytes needed by the last field */
+    private final int length;
+
+    /** fields overlapping the 64 bit lane l of the data are laneFields[laneStarts[l] until laneStarts[l + 1]] */
+    private final int[] laneStarts;
+    private final int[] laneFields;
+    /** bits of the lane belonging to the field */
+    private final long[] laneMasks;
+
+    private ReportDecoder(Report report, List<Field> fields) {
+        this.report = report;
+        this.fields = fields.toArray(Field[]::new);
+        int n = this.fields.length;
+        offsets = new int[n];
+        lefts = new int[n];
+        rights = new int[n];
+        signed = new boolean[n];
+        scales = new float[n];
+        biases = new float[n];
+        lows = new float[n];
+        highs = new float[n];
+        int length = 1;
+        for (int i = 0; i < n; i++) {
+            Field field = this.fields[i];
+            int bits = (field.flags & Feature.BUFFERED_BYTE.mask) != 0 ? field.reportSize * 8 : field.reportSize;
+            int shift = field.reportOffset % 8;
+            if (bits < 1 || shift + bits > 64)
+                throw new IllegalArgumentException(String.format("unsupported field: size: %d bits, offset: %d", bits, field.reportOffset));
+            offsets[i] = field.reportOffset / 8 + 1; // + 1 for the report id at the first byte
+            lefts[i] = 64 - shift - bits;
+            rights[i] = 64 - bits;
+            signed[i] = field.logicalMinimum < 0;
+            float min = field.logicalMinimum;
+            float max = field.logicalMaximum;
+            if (isAxis(field) && max > min) {
+                scales[i] = 2 / (max - min);
+                biases[i] = -2 * min / (max - min) - 1;
+                lows[i] = -1;
+                highs[i] = 1;
+            } else {
+                scales[i] = 1;
+                biases[i] = 0;
+                lows[i] = Float.NEGATIVE_INFINITY;
+                highs[i] = Float.POSITIVE_INFINITY;
+            }
+            length = Math.max(length, offsets[i] + (shift + bits + 7) / 8);
+        }
+        this.length = length;
+
+        // bit to field index, fields are in the order of their offsets
+        int lanes = (length + 7) / 8;
+        laneStarts = new int[lanes + 1];
+        List<long[]> entries = new ArrayList<>();
+        for (int l = 0; l < lanes; l++) {
+            laneStarts[l] = entries.size();
+            for (int i = 0; i < n; i++) {
+                int start = offsets[i] * 8 + rights[i] - lefts[i]; // bit offset in the data
+                int end = start + 64 - rights[i];
+                int lo = Math.max(start, l * 64) - l * 64;
+                int hi = Math.min(end, l * 64 + 64) - l * 64;
+                if (lo < hi)
+                    entries.add(new long[] {i, hi - lo == 64 ? -1L : ((1L << (hi - lo)) - 1) << lo});
+            }
+        }
+        laneStarts[lanes] = entries.size();
+        laneFields = new int[entries.size()];
+        laneMasks = new long[entries.size()];
+        for (int e = 0; e < entries.size(); e++) {
+            laneFields[e] = (int) entries.get(e)[0];
+            laneMasks[e] = entries.get(e)[1];
+        }
+    }
+
+    /** absolute axes are normalized */
+    private static boolean isAxis(Field field) {
+        int page = field.getUsagePage();
+        return (page == USAGE_PAGE_GENERIC_DESKTOP || page == USAGE_PAGE_SIMULATION) &&
+                field.getUsageId() != USAGE_HAT_SWITCH &&
+                (field.flags & Feature.VARIABLE.mask) != 0 &&
+                (field.flags & Feature.RELATIVE.mask) == 0 &&
+                field.reportSize > 1;
+    }
+
+    /**
+     * Compiles the data fields of a parsed report.
+     *
+     * @throws IllegalArgumentException a field does not fit in the 64 bits from its first byte,
+     *         i.e. its bit offset in the byte plus its size is more than 64, or its size is 0
+     */
+    public static ReportDecoder compile(Report report) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : report.getFields())
+            if ((field.flags & Feature.CONSTANT.mask) == 0)
+                fields.add(field);
+        return new ReportDecoder(report, fields);
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    /** @return the number of decoded values */
+    public int size() {
+        return fields.length;
+    }
+
+    /** @return the field decoded into the index */
+    public Field getField(int index) {
+        return fields[index];
+    }
+
+    /** @return bytes of a complete report including the report id */
+    public int getLength() {
+        return length;
+    }
+
+    /** loads 8 bytes, bytes beyond the data are 0 */
+    static long load(byte[] data, int p) {
+        if (p + 8 <= data.length)
+            return (long) LONG_LE.get(data, p);
+        long raw = 0;
+        for (int b = Math.min(8, data.length - p) - 1; b >= 0; b--)
+            raw = (raw << 8) | (data[p + b] & 0xff);
+        return raw;
+    }
+
+    /** loads 8 bytes little endian, bytes beyond the limit are 0 */
+    static long load(ByteBuffer data, int p) {
+        if (p + 8 <= data.limit()) {
+            long raw = data.getLong(p);
+            return data.order() == ByteOrder.LITTLE_ENDIAN ? raw : Long.reverseBytes(raw);
+        }
+        long raw = 0;
+        for (int b = Math.min(8, data.limit() - p) - 1; b >= 0; b--)
+            raw = (raw << 8) | (data.get(p + b) & 0xff);
+        return raw;
+    }
+
+    /**
+     * Decodes the normalized values of all the fields.
+     *
+     * @param data a report, the first byte is the report id
+     * @param values receives {@link #size()} values in the order of {@link #getField(int)}
+     * @throws IllegalArgumentException values is shorter than {@link #size()}
+     */
+    public void decode(byte[] data, float[] values) {
+        int n = fields.length;
+        if (values.length < n)
+            throw new IllegalArgumentException("values too short: " + values.length + " < " + n);
+        for (int i = 0; i < n; i++) {
+            long raw = load(data, offsets[i]) << lefts[i];
+            long v = signed[i] ? raw >> rights[i] : raw >>> rights[i];
+            values[i] = Math.max(lows[i], Math.min(highs[i], v * scales[i] + biases[i]));
+        }
+    }
+
+    /**
+     * Decodes the normalized values of all the fields where the report is, e.g. in native memory.
+     *
+     * @param data a report from its position (the report id), heap or direct. the position is not changed
+     * @param values receives {@link #size()} values in the order of {@link #getField(int)}
+     * @throws IllegalArgumentException values is shorter than {@link #size()}
+     */
+    public void decode(ByteBuffer data, float[] values) {
+        int n = fields.length;
+        if (values.length < n)
+            throw new IllegalArgumentException("values too short: " + values.length + " < " + n);
+        int base = data.position();
+        for (int i = 0; i < n; i++) {
+            long raw = load(data, base + offsets[i]) << lefts[i];
+            long v = signed[i] ? raw >> rights[i] : raw >>> rights[i];
+            values[i] = Math.max(lows[i], Math.min(highs[i], v * scales[i] + biases[i]));
+        }
+    }
+
+    /**
+     * Finds the fields changed from the previous report by comparing the reports 64 bits at a time,
+     * only the fields overlapping differing bits are examined. A chatty report that did not change
+     * costs a few xor.
+     *
+     * @param previous the previous report, null if there is none and all the fields are changed
+     * @param data the current report, the first byte is the report id
+     * @param changed receives the indices of the changed fields in ascending order
+     * @return the number of the changed fields
+     * @throws IllegalArgumentException changed is shorter than {@link #size()}
+     */
+    public int diff(byte[] previous, byte[] data, int[] changed) {
+        int n = fields.length;
+        if (changed.length < n)
+            throw new IllegalArgumentException("changed too short: " + changed.length + " < " + n);
+        int count = 0;
+        for (int l = 0; l < laneStarts.length - 1; l++) {
+            long x = previous == null ? -1L : load(previous, l * 8) ^ load(data, l * 8);
+            if (x == 0)
+                continue;
+            for (int e = laneStarts[l]; e < laneStarts[l + 1]; e++) {
+                if ((x & laneMasks[e]) != 0) {
+                    int i = laneFields[e];
+                    // a field across lanes is the last of a lane and the first of the next one
+                    if (count == 0 || changed[count - 1] != i)
+                        changed[count++] = i;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Decodes the normalized value of one field.
+     *
+     * @param data a report, the first byte is the report id
+     * @param index the index of the field
+     */
+    public float getValue(byte[] data, int index) {
+        long raw = load(data, offsets[index]) << lefts[index];
+        long v = signed[index] ? raw >> rights[index] : raw >>> rights[index];
+        return Math.max(lows[index], Math.min(highs[index], v * scales[index] + biases[index]));
+    }
+
+    /**
+     * Decodes the logical values of all the fields, sign extended if the logical minimum is negative.
+     *
+     * @param data a report, the first byte is the report id
+     * @param values receives {@link #size()} values in the order of {@link #getField(int)}
+     * @throws IllegalArgumentException values is shorter than {@link #size()}
+     */
+    public void decode(byte[] data, int[] values) {
+        int n = fields.length;
+        if (values.length < n)
+            throw new IllegalArgumentException("values too short: " + values.length + " < " + n);
+        for (int i = 0; i < n; i++) {
+            long raw = load(data, offsets[i]) << lefts[i];
+            values[i] = (int) (signed[i] ? raw >> rights[i] : raw >>> rights[i]);
+        }
+    }
+
+    /**
+     * Decodes the logical values of all the fields where the report is, e.g. in native memory.
+     *
+     * @param data a report from its position (the report id), heap or direct. the position is not changed
+     * @param values receives {@link #size()} values in the order of {@link #getField(int)}
+     * @throws IllegalArgumentException values is shorter than {@link #size()}
+     */
+    public void decode(ByteBuffer data, int[] values) {
+        int n = fields.length;
+        if (values.length < n)
+            throw new IllegalArgumentException("values too short: " + values.length + " < " + n);
+        int base = data.position();
+        for (int i = 0; i < n; i++) {
+            long raw = load(data, base + offsets[i]) << lefts[i];
+            values[i] = (int) (signed[i] ? raw >> rights[i] : raw >>> rights[i]);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb.parser;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.java.games.input.usb.parser.HidParser.Feature;
+
+
+/**
+ * Encodes all the data fields of an output or a feature report in one pass,
+ * the counterpart of {@link ReportDecoder}.
+ * <p>
+ * The layout of a {@link Report} is compiled into flat arrays, so encoding
+ * a report is a loop of a little endian 64 bit read, mask and write per field,
+ * without any call to {@link Field}. Values are logical values, the bits above
+ * the report size are dropped. Constant (padding) fields are always 0.
+ * <p>
+ * Like {@link Field#setValue(byte[], int)}, the first byte of the data is the report id.
+ * Encode into the same buffer every time and compare it with the last one sent
+ * (e.g. {@link net.java.games.input.usb.HidController.HidReport#isDirty()})
+ * to skip writing a report which did not change.
+ * No backend encodes through this yet, the rumblers of the plugins are placed at
+ * fixed byte offsets (e.g. the cookie of {@code OSXRumbler}), not at the fields
+ * of a parsed descriptor.
+ * An instance is immutable and can be shared between threads.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+public final class ReportEncoder implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Report report;
+    private final Field[] fields;
+
+    /** byte offset of the field in the data, including the report id */
+    private final int[] offsets;
+    /** bit offset of the field in the 64 bits from the offset */
+    private final int[] shifts;
+    /** bits of the field in the 64 bits from the offset */
+    private final long[] masks;
+    /** bytes of a complete report including the report id */
+    private final int length;
+
+    private ReportEncoder(Report report, List<Field> fields) {
+        this.report = report;
+        this.fields = fields.toArray(Field[]::new);
+        int n = this.fields.length;
+        offsets = new int[n];
+        shifts = new int[n];
+        masks = new long[n];
+        for (int i = 0; i < n; i++) {
+            Field field = this.fields[i];
+            int bits = (field.flags & Feature.BUFFERED_BYTE.mask) != 0 ? field.reportSize * 8 : field.reportSize;
+            int shift = field.reportOffset % 8;
+            if (bits < 1 || shift + bits > 64)
+                throw new IllegalArgumentException(String.format("unsupported field: size: %d bits, offset: %d", bits, field.reportOffset));
+            offsets[i] = field.reportOffset / 8 + 1; // + 1 for the report id at the first byte
+            shifts[i] = shift;
+            masks[i] = (bits == 64 ? -1L : (1L << bits) - 1) << shift;
+        }
+        this.length = 1 + (report.getSize() + 7) / 8;
+    }
+
+    /**
+     * Compiles the data fields of a parsed report.
+     *
+     * @throws IllegalArgumentException a field does not fit in the 64 bits from its first byte,
+     *         i.e. its bit offset in the byte plus its size is more than 64, or its size is 0
+     */
+    public static ReportEncoder compile(Report report) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : report.getFields())
+            if ((field.flags & Feature.CONSTANT.mask) == 0)
+                fields.add(field);
+        return new ReportEncoder(report, fields);
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    /** @return the number of encoded values */
+    public int size() {
+        return fields.length;
+    }
+
+    /** @return the field encoded from the index */
+    public Field getField(int index) {
+        return fields[index];
+    }
+
+    /** @return bytes of a complete report including the report id */
+    public int getLength() {
+        return length;
+    }
+
+    /** @return a buffer for {@link #encode(int[], byte[])} */
+    public byte[] newBuffer() {
+        return new byte[length];
+    }
+
+    /**
+     * Encodes the logical values of all the fields.
+     *
+     * @param values {@link #size()} values in the order of {@link #getField(int)}
+     * @param data receives the report, the first byte is the report id
+     * @throws IllegalArgumentException values or data is too short
+     */
+    public void encode(int[] values, byte[] data) {
+        int n = fields.length;
+        if (values.length < n)
+            throw new IllegalArgumentException("values too short: " + values.length + " < " + n);
+        if (data.length < length)
+            throw new IllegalArgumentException("data too short: " + data.length + " < " + length);
+        data[0] = (byte) report.getId();
+        Arrays.fill(data, 1, length, (byte) 0);
+        for (int i = 0; i < n; i++) {
+            int p = offsets[i];
+            long bits = ((long) values[i] << shifts[i]) & masks[i];
+            if (p + 8 <= data.length) {
+                LONG_LE.set(data, p, (long) LONG_LE.get(data, p) | bits);
+            } else {
+                for (int b = 0; p + b < data.length; b++)
+                    data[p + b] |= (byte) (bits >>> (b * 8));
+            }
+        }
+    }
+}
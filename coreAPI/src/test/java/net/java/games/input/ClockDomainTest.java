@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * ClockDomainTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+class ClockDomainTest {
+
+    static final long MS = 1_000_000L;
+
+    @Test
+    void test1() {
+        // wall clock in ms, read with varying latency
+        ClockDomain clock = new ClockDomain();
+        long base = 1_000_000 * MS;
+        assertEquals(10_000 * MS + 3 * MS, clock.toNanoTime(base, 10_000 * MS + 3 * MS));
+        // lower latency lowers the offset at once
+        assertEquals(10_010 * MS + 1 * MS, clock.toNanoTime(base + 10 * MS, 10_010 * MS + 1 * MS));
+        // higher latency only grows the offset by the allowed drift
+        long t = clock.toNanoTime(base + 20 * MS, 10_020 * MS + 9 * MS);
+        assertEquals(10_020 * MS + 1 * MS + 18 * 100, t);
+        // never later than the time read
+        long now = 10_030 * MS + 5 * MS;
+        assertTrue(clock.toNanoTime(base + 30 * MS, now) <= now);
+    }
+
+    @Test
+    void test2() {
+        // raw clock running 50 ppm slower is followed
+        ClockDomain clock = new ClockDomain();
+        long offset = 0;
+        for (long s = 0; s < 1000; s++) {
+            long now = s * 1_000_000_000L;
+            long raw = now - now / 1_000_000 * 50;
+            offset = clock.toNanoTime(raw, now) - raw;
+            assertTrue(now - (raw + offset) < 100_000, String.valueOf(s));
+        }
+        assertEquals(49_950_000, offset);
+    }
+
+    @Test
+    void test3() {
+        // a wall clock set back restarts the estimation
+        ClockDomain clock = new ClockDomain();
+        clock.toNanoTime(5_000 * MS, 1_000 * MS);
+        assertEquals(1_010 * MS, clock.toNanoTime(4_000 * MS, 1_010 * MS));
+        assertEquals(ClockDomain.MONOTONIC.toNanoTime(12345), 12345);
+    }
+
+    @Test
+    void test4() {
+        // events closer than 1 ms still follow the drift
+        ClockDomain clock = new ClockDomain();
+        long offset = 0;
+        for (long i = 0; i < 100_000; i++) {
+            long now = i * 100_000L;
+            long raw = now - now / 1_000_000 * 50;
+            offset = clock.toNanoTime(raw, now) - raw;
+            assertTrue(now - (raw + offset) < 100_000, String.valueOf(i));
+        }
+        assertTrue(offset > 400_000, String.valueOf(offset));
+    }
+}
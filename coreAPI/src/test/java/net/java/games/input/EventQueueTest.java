@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.java.games.input.EventQueue.OverflowPolicy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * EventQueueTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+class EventQueueTest {
+
+    static class TestComponent extends AbstractComponent {
+        TestComponent(String name) {
+            super(name, Component.Identifier.Axis.X);
+        }
+
+        @Override
+        public boolean isRelative() {
+            return false;
+        }
+    }
+
+    @Test
+    void test1() {
+        Component a = new TestComponent("a");
+        Component b = new TestComponent("b");
+        EventQueue queue = new EventQueue(3);
+        assertEquals(4, queue.getCapacity());
+        assertTrue(queue.offer(a, 1f, 10));
+        assertTrue(queue.offer(b, 2f, 20));
+        assertTrue(queue.offer(a, 3f, 30));
+        assertTrue(queue.offer(b, 4f, 40));
+        assertTrue(queue.isFull());
+        assertFalse(queue.offer(a, 5f, 50));
+
+        Event event = new Event();
+        assertTrue(queue.getNextEvent(event));
+        assertSame(a, event.getComponent());
+        assertEquals(1f, event.getValue());
+        assertEquals(10, event.getNanos());
+
+        List<String> drained = new ArrayList<>();
+        int n = queue.drainTo((c, v, t) -> drained.add(c.getName() + v + "@" + t), 2);
+        assertEquals(2, n);
+        assertEquals(List.of("b2.0@20", "a3.0@30"), drained);
+        assertEquals(1, queue.size());
+        assertTrue(queue.getNextEvent(event));
+        assertSame(b, event.getComponent());
+        assertFalse(queue.getNextEvent(event));
+    }
+
+    @Test
+    void test2() throws Exception {
+        Component[] components = new Component[5];
+        for (int i = 0; i < components.length; i++)
+            components[i] = new TestComponent(String.valueOf(i));
+        EventQueue queue = new EventQueue(16);
+        int count = 200_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!queue.offer(components[i % components.length], i, i))
+                    Thread.onSpinWait();
+            }
+        });
+        producer.start();
+        long[] expected = {0};
+        while (expected[0] < count) {
+            queue.drainTo((c, v, t) -> {
+                assertEquals(expected[0], t);
+                assertEquals((float) expected[0], v);
+                assertSame(components[(int) (expected[0] % components.length)], c);
+                expected[0]++;
+            }, 8);
+        }
+        producer.join();
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void test3() {
+        Component a = new TestComponent("a");
+        Event event = new Event();
+
+        EventQueue queue = new EventQueue(2, OverflowPolicy.DROP_OLDEST);
+        for (int i = 0; i < 5; i++)
+            assertTrue(queue.offer(a, i, i));
+        assertEquals(3, queue.getDroppedCount());
+        assertTrue(queue.getNextEvent(event));
+        assertEquals(3f, event.getValue());
+
+        queue = new EventQueue(2, OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 5; i++)
+            queue.offer(a, i, i);
+        assertEquals(3, queue.getDroppedCount());
+        assertTrue(queue.getNextEvent(event));
+        assertEquals(0f, event.getValue());
+
+        queue = new EventQueue(2, OverflowPolicy.grow(8));
+        for (int i = 0; i < 10; i++)
+            queue.offer(a, i, i);
+        assertEquals(8, queue.getCapacity());
+        assertEquals(2, queue.getDroppedCount());
+        assertEquals(8, queue.getHighWaterMark());
+        for (int i = 0; i < 8; i++) {
+            assertTrue(queue.getNextEvent(event));
+            assertEquals((float) i, event.getValue());
+        }
+        assertFalse(queue.getNextEvent(event));
+
+        queue = new EventQueue(1, OverflowPolicy.block(1, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer(a, 0, 0));
+        assertFalse(queue.offer(a, 1, 1));
+        assertEquals(1, queue.getDroppedCount());
+    }
+
+    @Test
+    void test4() {
+        Component a = new TestComponent("a");
+        Component b = new TestComponent("b");
+        Event event = new Event();
+
+        EventQueue queue = new EventQueue(1, OverflowPolicy.COALESCE);
+        assertTrue(queue.offer(a, 0, 0));
+        assertFalse(queue.offer(b, 1, 1));
+        assertFalse(queue.offer(a, 2, 2));
+        assertFalse(queue.offer(b, 3, 3));
+        assertEquals(1, queue.getCoalescedCount());
+        assertEquals(0, queue.getDroppedCount());
+
+        assertTrue(queue.getNextEvent(event));
+        assertEquals(0f, event.getValue());
+        assertFalse(queue.flush());
+        assertTrue(queue.getNextEvent(event));
+        assertSame(b, event.getComponent());
+        assertEquals(3f, event.getValue());
+        assertTrue(queue.flush());
+        assertTrue(queue.getNextEvent(event));
+        assertSame(a, event.getComponent());
+        assertEquals(2f, event.getValue());
+    }
+}
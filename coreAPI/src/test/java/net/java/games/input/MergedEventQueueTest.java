@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+
+/**
+ * MergedEventQueueTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+class MergedEventQueueTest {
+
+    /** an environment of synthetic controllers */
+    static class TestEnvironment extends ControllerListenerSupport implements ControllerEnvironment {
+        final Controller[] controllers;
+
+        TestEnvironment(Controller... controllers) {
+            this.controllers = controllers;
+        }
+
+        @Override
+        public boolean isSupported() {
+            return true;
+        }
+
+        @Override
+        public Controller[] getControllers() {
+            return controllers;
+        }
+    }
+
+    @Test
+    void test1() {
+        SyntheticController a = new SyntheticController("a");
+        SyntheticController b = new SyntheticController("b");
+        SyntheticController c = new SyntheticController("c");
+        ControllerEnvironment environment = new TestEnvironment(a, b, c);
+
+        a.push(2, 1f, 10);
+        a.push(2, 0f, 40);
+        b.push(2, 1f, 20);
+        b.push(2, 0f, 30);
+        c.push(2, 1f, 5);
+        c.push(2, 0f, 50);
+
+        MergedEventQueue queue = environment.pollAll();
+        assertSame(queue, environment.pollAll().poll());
+        // nothing new, the pending events are merged again
+        List<Long> nanos = new ArrayList<>();
+        Event event = new Event();
+        while (queue.getNextEvent(event))
+            nanos.add(event.getNanos());
+        assertEquals(List.of(5L, 10L, 20L, 30L, 40L, 50L), nanos);
+
+        a.push(0, 0.5f, 70);
+        b.push(0, 0.5f, 60);
+        b.push(0, 0.6f, 80);
+        nanos.clear();
+        environment.pollAll().drainTo((comp, v, t) -> nanos.add(t), Integer.MAX_VALUE);
+        assertEquals(List.of(60L, 70L, 80L), nanos);
+        assertFalse(queue.getNextEvent(event));
+    }
+
+    @Test
+    void test2() throws Exception {
+        ControllerEnvironment environment = new TestEnvironment(new SyntheticController("a"));
+        environment.pollAll();
+        WeakReference<ControllerEnvironment> reference = new WeakReference<>(environment);
+        environment = null;
+
+        // the shared queue does not keep the environment alive
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * PollingControllerTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+class PollingControllerTest {
+
+    static List<String> drain(PollingController controller) {
+        List<String> events = new ArrayList<>();
+        controller.getEventQueue().drainTo((c, v, t) -> events.add(c.getName() + "=" + v + "@" + t), Integer.MAX_VALUE);
+        return events;
+    }
+
+    @Test
+    void test1() {
+        SyntheticController controller = new SyntheticController("test");
+        controller.setEventCoalescing(true);
+        controller.push(0, 0.1f, 1);
+        controller.push(1, 2f, 2);
+        controller.push(0, 0.2f, 3);
+        controller.push(1, 3f, 4);
+        controller.push(2, 1f, 5);
+        controller.push(0, 0.3f, 6);
+        controller.push(2, 0f, 7);
+        controller.push(0, 0.4f, 8);
+        controller.push(0, 0.3f, 9);
+        controller.push(1, 1f, 10);
+        assertTrue(controller.poll());
+        assertEquals(List.of("x=0.2@3", "y=5.0@4", "button=1.0@5", "x=0.3@6", "button=0.0@7", "y=1.0@10"), drain(controller));
+
+        controller.setEventCoalescing(false);
+        controller.push(0, 0.1f, 11);
+        controller.push(0, 0.2f, 12);
+        assertTrue(controller.poll());
+        assertEquals(List.of("x=0.1@11", "x=0.2@12"), drain(controller));
+    }
+
+    @Test
+    void test2() {
+        SyntheticController controller = new SyntheticController("test");
+        List<InputEvent> inputEvents = new ArrayList<>();
+        List<Float> values = new ArrayList<>();
+        controller.addInputEventListener(e -> {
+            inputEvents.add(e);
+            Event event = new Event();
+            while (e.getNextEvent(event))
+                values.add(event.getValue());
+        });
+        controller.push(2, 1f, 1);
+        controller.push(2, 0f, 2);
+        assertTrue(controller.poll());
+        assertTrue(controller.poll());
+        controller.push(0, 0.5f, 3);
+        assertTrue(controller.poll());
+        assertEquals(List.of(1f, 0f, 0.5f), values);
+        assertEquals(2, inputEvents.size());
+        assertSame(inputEvents.get(0), inputEvents.get(1));
+        assertSame(controller, inputEvents.get(0).getSource());
+    }
+
+    @Test
+    void test3() {
+        SyntheticController controller = new SyntheticController("test");
+        Component[] components = controller.getComponents();
+        for (int i = 0; i < components.length; i++) {
+            assertEquals(i, ((AbstractComponent) components[i]).getIndex());
+            assertSame(components[i], controller.getComponent(components[i].getIdentifier()));
+        }
+        assertNull(controller.getComponent(Component.Identifier.Key.A));
+
+        controller.push(0, 0.5f, 1);
+        controller.push(1, 2f, 2);
+        controller.push(2, 1f, 3);
+        controller.poll();
+        float[] state = new float[3];
+        assertEquals(3, controller.readState(state));
+        assertArrayEquals(new float[] {0.5f, 2f, 1f}, state);
+        FloatBuffer buffer = FloatBuffer.allocate(4);
+        buffer.put(9f);
+        assertEquals(3, controller.readState(buffer));
+        assertArrayEquals(new float[] {9f, 0.5f, 2f, 1f}, buffer.array());
+        // the first call already reads the latest poll
+        ControllerState snapshot = controller.getState(new ControllerState(controller));
+        assertEquals(1, snapshot.getSequence());
+        assertEquals(0.5f, snapshot.getValue(0));
+    }
+
+    @Test
+    void test4() throws Exception {
+        SyntheticController controller = new SyntheticController("test");
+        ControllerState state = new ControllerState(controller);
+        assertEquals(0, controller.getState(state).getSequence());
+
+        int polls = 20_000;
+        Thread poller = new Thread(() -> {
+            for (int i = 1; i <= polls; i++) {
+                controller.push(0, i, i);
+                controller.push(1, i, i);
+                controller.poll();
+            }
+        });
+        poller.start();
+        long last = 0;
+        while (last < polls) {
+            controller.getState(state);
+            assertEquals(state.getValue(0), state.getValue(1));
+            assertTrue(state.getSequence() >= last);
+            last = state.getSequence();
+        }
+        poller.join();
+        assertEquals((float) polls, state.getValue(controller.getComponents()[0]));
+    }
+
+    @Test
+    void test5() throws Exception {
+        int controllers = 64;
+        int polls = 200;
+        int events = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < controllers; c++) {
+                SyntheticController controller = new SyntheticController("c" + c);
+                controller.setEventQueueSize(events);
+                futures.add(executor.submit(() -> {
+                    Component[] components = controller.getComponents();
+                    Event event = new Event();
+                    for (int i = 0; i < polls; i++) {
+                        for (int j = 0; j < events; j++)
+                            controller.push(0, i * events + j + 1, i * events + j);
+                        assertTrue(controller.poll());
+                        int n = 0;
+                        while (controller.getEventQueue().getNextEvent(event)) {
+                            assertSame(components[0], event.getComponent());
+                            assertEquals(i * events + n, event.getNanos());
+                            assertEquals((float) (i * events + n + 1), event.getValue());
+                            n++;
+                        }
+                        assertEquals(events, n);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
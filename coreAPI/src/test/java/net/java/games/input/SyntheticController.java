@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+
+/**
+ * A controller fed with scripted events for tests.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+class SyntheticController extends PollingController {
+
+    static class SyntheticComponent extends PollingComponent {
+
+        private final boolean relative;
+        private final boolean analog;
+
+        SyntheticComponent(String name, Identifier id, boolean relative, boolean analog) {
+            super(name, id);
+            this.relative = relative;
+            this.analog = analog;
+        }
+
+        @Override
+        public boolean isRelative() {
+            return relative;
+        }
+
+        @Override
+        public boolean isAnalog() {
+            return analog;
+        }
+
+        @Override
+        protected float poll() {
+            return getEventValue();
+        }
+    }
+
+    /** x: absolute axis, y: relative axis, button */
+    static Component[] createComponents() {
+        return new Component[] {
+                new SyntheticComponent("x", Component.Identifier.Axis.X, false, true),
+                new SyntheticComponent("y", Component.Identifier.Axis.Y, true, true),
+                new SyntheticComponent("button", Component.Identifier.Button._0, false, false),
+        };
+    }
+
+    private final Deque<Event> events = new ArrayDeque<>();
+
+    SyntheticController(String name) {
+        super(name, createComponents(), new Controller[0], new Rumbler[0]);
+    }
+
+    /** queues a device event for the next poll */
+    synchronized void push(int component, float value, long nanos) {
+        Event event = new Event();
+        event.set(getComponents()[component], value, nanos);
+        events.add(event);
+    }
+
+    /** scripted timestamps are kept as they are */
+    @Override
+    protected ClockDomain createClockDomain() {
+        return ClockDomain.MONOTONIC;
+    }
+
+    @Override
+    protected synchronized boolean getNextDeviceEvent(Event event) {
+        Event e = events.poll();
+        if (e == null)
+            return false;
+        event.set(e);
+        return true;
+    }
+
+    @Override
+    public void output(AbstractController.Report report) {
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb;
+
+import java.util.Arrays;
+
+import net.java.games.input.Component;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+
+/**
+ * UsagePageTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+class UsagePageTest {
+
+    @Test
+    void test1() {
+        // the same as the linear scans
+        for (int i = -1; i < 0x10000; i++) {
+            int id = i;
+            assertSame(Arrays.stream(UsagePage.values()).filter(e -> e.getId() == id).findFirst().orElse(null), UsagePage.map(i));
+            assertSame(Arrays.stream(GenericDesktopUsageId.values()).filter(e -> e.getId() == id).findFirst().orElse(null), GenericDesktopUsageId.map(i));
+            assertSame(Arrays.stream(KeyboardUsageId.values()).filter(e -> e.getId() == id).findFirst().orElse(null), KeyboardUsageId.map(i));
+        }
+    }
+
+    @Test
+    void test2() {
+        for (int i = 0; i < 300; i++) {
+            ButtonUsageId button = ButtonUsageId.map(i);
+            assertSame(button, ButtonUsageId.map(i));
+            if (i == 0 || i > 32) {
+                assertNull(button.getIdentifier());
+            } else {
+                assertEquals(String.valueOf(i - 1), button.getIdentifier().getName());
+            }
+            assertSame(button.getIdentifier(), UsagePage.mapIdentifier(UsagePage.BUTTON.getId(), i));
+        }
+        assertSame(Component.Identifier.Axis.X, UsagePage.mapIdentifier(UsagePage.GENERIC_DESKTOP.getId(), GenericDesktopUsageId.X.getId()));
+        assertSame(Component.Identifier.Key.A, UsagePage.mapIdentifier(UsagePage.KEYBOARD_OR_KEYPAD.getId(), KeyboardUsageId.A.getId()));
+        assertNull(UsagePage.mapIdentifier(0xff00, 1));
+        assertNull(UsagePage.mapIdentifier(UsagePage.CONSUMER.getId(), 1));
+    }
+}
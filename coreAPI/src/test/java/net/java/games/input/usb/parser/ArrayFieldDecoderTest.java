@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * ArrayFieldDecoderTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+class ArrayFieldDecoderTest {
+
+    /** boot protocol keyboard, 6 key rollover */
+    static final int[] bootKeyboard = {
+        0x05, 0x01, 0x09, 0x06, 0xa1, 0x01, 0x05, 0x07, 0x19, 0xe0, 0x29, 0xe7, 0x15, 0x00, 0x25, 0x01,
+        0x75, 0x01, 0x95, 0x08, 0x81, 0x02, 0x95, 0x01, 0x75, 0x08, 0x81, 0x01, 0x95, 0x05, 0x75, 0x01,
+        0x05, 0x08, 0x19, 0x01, 0x29, 0x05, 0x91, 0x02, 0x95, 0x01, 0x75, 0x03, 0x91, 0x01, 0x95, 0x06,
+        0x75, 0x08, 0x15, 0x00, 0x25, 0x65, 0x05, 0x07, 0x19, 0x00, 0x29, 0x65, 0x81, 0x00, 0xc0
+    };
+
+    /** 128 buttons, 4 at once */
+    static final int[] buttonPanel = {
+        0x05, 0x01, 0x09, 0x04, 0xa1, 0x01, 0x05, 0x09, 0x19, 0x01, 0x29, 0x80, 0x15, 0x01, 0x25, 0x80,
+        0x75, 0x08, 0x95, 0x04, 0x81, 0x00, 0xc0
+    };
+
+    static ArrayFieldDecoder compile(int[] descriptor) {
+        byte[] bytes = ReportDecoderTest.toBytes(descriptor);
+        HidParser parser = new HidParser();
+        parser.parse(bytes, bytes.length);
+        return ArrayFieldDecoder.compile(parser.getReport(HidParser.HID_INPUT_REPORT, 0));
+    }
+
+    @Test
+    void test1() {
+        ArrayFieldDecoder decoder = compile(bootKeyboard);
+        assertEquals(6, decoder.size());
+        List<String> events = new ArrayList<>();
+        ArrayFieldDecoder.Listener listener = (usage, on) -> events.add(String.format("%08x%s", usage, on ? "+" : "-"));
+
+        // report id, modifiers, reserved, 6 keys
+        assertEquals(1, decoder.decode(new byte[] {0, 0, 0, 0x04, 0, 0, 0, 0, 0}, listener));
+        assertEquals("00070004+", events.get(0));
+        assertEquals(1, decoder.decode(new byte[] {0, 0, 0, 0x04, 0x05, 0, 0, 0, 0}, listener));
+        assertEquals("00070005+", events.get(1));
+        // the order of the slots does not matter
+        assertEquals(0, decoder.decode(new byte[] {0, 0, 0, 0x05, 0, 0, 0, 0, 0x04}, listener));
+        assertEquals(1, decoder.decode(new byte[] {0, 0, 0, 0, 0x05, 0, 0, 0, 0}, listener));
+        assertEquals("00070004-", events.get(2));
+        // phantom state keeps the keys
+        assertEquals(0, decoder.decode(new byte[] {0, 0, 0, 1, 1, 1, 1, 1, 1}, listener));
+        assertEquals(0, decoder.decode(new byte[] {0, 0, 0, 0x05, 0, 0, 0, 0, 0}, listener));
+        assertEquals(2, decoder.decode(new byte[] {0, 0, 0, 0x65, 0, 0, 0, 0, 0}, listener));
+        assertEquals("00070005-", events.get(3));
+        assertEquals("00070065+", events.get(4));
+    }
+
+    @Test
+    void test2() {
+        ArrayFieldDecoder decoder = compile(buttonPanel);
+        assertEquals(128, decoder.getUsageCount());
+        List<String> events = new ArrayList<>();
+        ArrayFieldDecoder.Listener listener = (usage, on) -> events.add(String.format("%08x%s", usage, on ? "+" : "-"));
+
+        assertEquals(3, decoder.decode(new byte[] {0, 1, (byte) 128, 64, 0}, listener));
+        assertEquals("00090001+", events.get(0));
+        assertEquals("00090040+", events.get(1));
+        assertEquals("00090080+", events.get(2));
+        assertEquals(3, decoder.decode(new byte[] {0, 0, (byte) 128, 65, 0}, listener));
+        assertEquals("00090001-", events.get(3));
+        assertEquals("00090040-", events.get(4));
+        assertEquals("00090041+", events.get(5));
+
+        decoder.reset();
+        assertEquals(2, decoder.decode(new byte[] {0, 0, (byte) 128, 65, 0}, listener));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb.parser;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * HidDescriptorCacheTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+class HidDescriptorCacheTest {
+
+    static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    @Test
+    void test1() {
+        HidDescriptorCache cache = new HidDescriptorCache(1, null);
+        byte[] mouse = ReportDecoderTest.toBytes(HidParserTestData.standardMouseDescriptor);
+        byte[] gamepad = ReportDecoderTest.toBytes(HidParserTestData.cheapGamepad);
+
+        HidDescriptorCache.Entry entry = cache.get(mouse, 0x1234, 0x0001);
+        assertSame(entry, cache.get(mouse.clone(), 0x1234, 0x0001));
+        // the same descriptor of another device is shared
+        assertSame(entry, cache.get(mouse, 0x5678, 0x0002));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(5, entry.getDecoder(0).size());
+
+        // evicted
+        cache.get(gamepad, 0x0810, 0x0005);
+        assertEquals(1, cache.size());
+        assertNotSame(entry, cache.get(mouse, 0x1234, 0x0001));
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    void test2(@TempDir Path directory) throws IOException {
+        byte[] descriptor = HidDescriptorCacheTest.class.getResourceAsStream("/ds4_ir_desc.dat").readAllBytes();
+
+        HidDescriptorCache.Entry entry = new HidDescriptorCache(4, directory).get(descriptor, 0x054c, 0x05c4);
+        assertEquals(1, list(directory).size());
+
+        // another process
+        HidDescriptorCache.Entry loaded = new HidDescriptorCache(4, directory).get(descriptor, 0x054c, 0x05c4);
+        assertNotSame(entry, loaded);
+        assertEquals(entry.getHash(), loaded.getHash());
+        assertEquals(entry.getReports().size(), loaded.getReports().size());
+
+        ReportDecoder decoder = entry.getDecoder(1);
+        byte[] data = new byte[decoder.getLength()];
+        new Random(4).nextBytes(data);
+        float[] expected = new float[decoder.size()];
+        decoder.decode(data, expected);
+        float[] actual = new float[decoder.size()];
+        loaded.getDecoder(1).decode(data, actual);
+        assertArrayEquals(expected, actual);
+
+        // the fields of the decoder are the views of the report
+        ReportDecoder loadedDecoder = loaded.getDecoder(1);
+        for (int i = 0; i < loadedDecoder.size(); i++) {
+            Field field = loadedDecoder.getField(i);
+            assertTrue(loadedDecoder.getReport().getFields().stream().anyMatch(f -> f == field), String.valueOf(i));
+        }
+
+        // a file of another format is not read
+        Path file = list(directory).get(0);
+        assertTrue(file.getFileName().toString().endsWith(".v" + HidDescriptorCache.FORMAT_VERSION + ".hiddesc"));
+        Files.move(file, directory.resolve(entry.getHash() + ".v0.hiddesc"));
+        HidDescriptorCache cache = new HidDescriptorCache(4, directory);
+        assertNotNull(cache.get(descriptor, 0x054c, 0x05c4));
+        assertEquals(2, list(directory).size());
+
+        // broken one is parsed again
+        Files.write(file, new byte[] {1, 2, 3});
+        HidDescriptorCache.Entry parsed = new HidDescriptorCache(4, directory).get(descriptor, 0x054c, 0x05c4);
+        assertNotNull(parsed.getDecoder(1));
+
+        // a class out of an entry is rejected
+        try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(file))) {
+            oos.writeObject(new TreeMap<>(Map.of("a", 1)));
+        }
+        parsed = new HidDescriptorCache(4, directory).get(descriptor, 0x054c, 0x05c4);
+        assertNotNull(parsed.getDecoder(1));
+    }
+}
@@ -8,7 +8,14 @@ package net.java.games.input.usb.parser;
 
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 import net.java.games.input.plugin.DualShock4PluginBase;
@@ -20,6 +27,9 @@ import vavi.util.Debug;
 import vavi.util.StringUtil;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 /**
@@ -115,4 +125,108 @@ Debug.println(Level.FINER, "getFields: " + parser.parse(desk, r).enumerateFields
             }
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("parallel parsers")
+    void test6() throws Exception {
+        byte[] ds4 = HidParserTest.class.getResourceAsStream("/ds4_ir_desc.dat").readAllBytes();
+        byte[] gamepad = ReportDecoderTest.toBytes(HidParserTestData.cheapGamepad);
+        int ds4Fields = new HidParser().parse(ds4, ds4.length).enumerateFields().size();
+        int gamepadFields = new HidParser().parse(gamepad, gamepad.length).enumerateFields().size();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                byte[] descriptor = t % 2 == 0 ? ds4 : gamepad;
+                int expected = t % 2 == 0 ? ds4Fields : gamepadFields;
+                results.add(executor.submit(() -> {
+                    HidParser parser = new HidParser();
+                    for (int i = 0; i < 200; i++) {
+                        if (parser.parse(descriptor, descriptor.length).enumerateFields().size() != expected)
+                            return false;
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results)
+                assertTrue(result.get());
+        } finally {
+            executor.shutdown();
+        }
+
+        // the previous tree is still valid after the next parse
+        HidParser parser = new HidParser();
+        Collection first = parser.parse(ds4, ds4.length);
+        parser.parse(gamepad, gamepad.length);
+        assertEquals(ds4Fields, first.enumerateFields().size());
+    }
+
+    @Test
+    @DisplayName("visitor")
+    void test7() throws Exception {
+        byte[] ds4 = HidParserTest.class.getResourceAsStream("/ds4_ir_desc.dat").readAllBytes();
+        HidParser parser = new HidParser();
+        Collection root = parser.parse(ds4, ds4.length);
+        List<Report> reports = parser.getReports();
+
+        List<Integer> applications = new ArrayList<>();
+        Map<Integer, Integer> sizes = new HashMap<>();
+        int[] fields = new int[1];
+        assertTrue(parser.visit(ds4, ds4.length, new HidDescriptorVisitor() {
+            @Override public boolean startCollection(int type, int usagePair, int depth) {
+                if (depth == 1)
+                    applications.add(usagePair);
+                return true;
+            }
+            @Override public boolean field(int reportType, int flags, int bitOffset, HidParser.Global global, int[] usages, int usageCount) {
+                fields[0] += global.getReportCount();
+                sizes.put(reportType << 8 | global.getReportId(), bitOffset + global.getReportSize() * global.getReportCount());
+                return true;
+            }
+        }));
+        assertEquals(root.getChildren().size(), applications.size());
+        assertEquals(root.getChildren().get(0).getUsagePair(), (int) applications.get(0));
+        assertEquals(reports.stream().mapToInt(r -> r.getFields().size()).sum(), fields[0]);
+        assertEquals(reports.size(), sizes.size());
+        for (Report report : reports)
+            assertEquals(report.getSize(), (int) sizes.get(report.getType() << 8 | report.getId()));
+
+        // stops at the first application collection
+        int[] count = new int[1];
+        assertFalse(parser.visit(ds4, ds4.length, new HidDescriptorVisitor() {
+            @Override public boolean startCollection(int type, int usagePair, int depth) {
+                count[0]++;
+                return false;
+            }
+        }));
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    @DisplayName("field range")
+    void test8() {
+        // vendor defined 4096 bytes with 4096 usages
+        int[] descriptor = {
+            0x06, 0x00, 0xff, 0x09, 0x01, 0xa1, 0x01, 0x19, 0x01, 0x2a, 0x00, 0x10, 0x15, 0x00, 0x26, 0xff, 0x00,
+            0x75, 0x08, 0x96, 0x00, 0x10, 0x81, 0x02, 0xc0
+        };
+        byte[] bytes = ReportDecoderTest.toBytes(descriptor);
+        HidParser parser = new HidParser();
+        Collection root = parser.parse(bytes, bytes.length);
+        Report report = parser.getReport(HidParser.HID_INPUT_REPORT, 0);
+        assertEquals(1, report.getFieldRanges().size());
+        FieldRange range = report.getFieldRanges().get(0);
+        assertEquals(4096, range.getCount());
+        assertEquals(4096, range.getUsageCount());
+        assertEquals(0xff00_0100, range.getElementUsage(255));
+        assertEquals(4096 * 8, report.getSize());
+
+        Field field = range.getField(4095);
+        assertEquals(0xff00, field.getUsagePage());
+        assertEquals(0x1000, field.getUsageId());
+        assertEquals(4095 * 8, field.reportOffset);
+        assertSame(field, report.getFields().get(4095));
+        assertSame(field, root.getChildren().get(0).getFields().get(4095));
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+/**
+ * ReportDecoderTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+class ReportDecoderTest {
+
+    static byte[] toBytes(int[] testData) {
+        byte[] descriptor = new byte[testData.length];
+        for (int i = 0; i < descriptor.length; i++)
+            descriptor[i] = (byte) testData[i];
+        return descriptor;
+    }
+
+    @Test
+    void test1() throws IOException {
+        byte[] descriptor = ReportDecoderTest.class.getResourceAsStream("/ds4_ir_desc.dat").readAllBytes();
+        HidParser parser = new HidParser();
+        parser.parse(descriptor, descriptor.length);
+        ReportDecoder decoder = ReportDecoder.compile(parser.getReport(HidParser.HID_INPUT_REPORT, 1));
+
+        byte[] data = new byte[decoder.getLength()];
+        new Random(1).nextBytes(data);
+        int[] values = new int[decoder.size()];
+        decoder.decode(data, values);
+        for (int i = 0; i < decoder.size(); i++) {
+            Field field = decoder.getField(i);
+            assertEquals(field.getValue(data), values[i], field.toString());
+        }
+    }
+
+    @Test
+    void test2() {
+        byte[] descriptor = toBytes(HidParserTestData.standardMouseDescriptor);
+        HidParser parser = new HidParser();
+        parser.parse(descriptor, descriptor.length);
+        ReportDecoder decoder = ReportDecoder.compile(parser.getReport(HidParser.HID_INPUT_REPORT, 0));
+        // 3 buttons, x, y (the padding is not decoded)
+        assertEquals(5, decoder.size());
+
+        byte[] data = { 0, 0x05, (byte) 0xff, 0x7f };
+        int[] values = new int[decoder.size()];
+        decoder.decode(data, values);
+        assertEquals(1, values[0]);
+        assertEquals(0, values[1]);
+        assertEquals(1, values[2]);
+        assertEquals(-1, values[3]); // signed
+        assertEquals(127, values[4]);
+
+        float[] normalized = new float[decoder.size()];
+        decoder.decode(data, normalized);
+        assertEquals(1f, normalized[0]);
+        assertEquals(-1f, normalized[3]); // relative, not normalized
+        assertEquals(127f, normalized[4]);
+
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(data, new float[2]));
+    }
+
+    @Test
+    void test3() {
+        byte[] descriptor = toBytes(HidParserTestData.cheapGamepad);
+        HidParser parser = new HidParser();
+        parser.parse(descriptor, descriptor.length);
+        Report report = parser.getReports().stream().filter(r -> r.getType() == HidParser.HID_INPUT_REPORT).findFirst().get();
+        ReportDecoder decoder = ReportDecoder.compile(report);
+
+        byte[] data = new byte[decoder.getLength()];
+        float[] normalized = new float[decoder.size()];
+        for (int i = 0; i < decoder.size(); i++) {
+            Field field = decoder.getField(i);
+            if (field.getUsagePage() == 0x01 && field.getUsageId() == 0x30) { // x
+                field.setValue(data, field.getLogicalMinimum());
+                decoder.decode(data, normalized);
+                assertEquals(-1f, normalized[i]);
+                field.setValue(data, field.getLogicalMaximum());
+                decoder.decode(data, normalized);
+                assertEquals(1f, normalized[i]);
+                return;
+            }
+        }
+        throw new AssertionError("no x axis");
+    }
+
+    @Test
+    void test4() throws IOException {
+        byte[] descriptor = ReportDecoderTest.class.getResourceAsStream("/ds4_ir_desc.dat").readAllBytes();
+        HidParser parser = new HidParser();
+        parser.parse(descriptor, descriptor.length);
+        ReportDecoder decoder = ReportDecoder.compile(parser.getReport(HidParser.HID_INPUT_REPORT, 1));
+
+        byte[] data = new byte[decoder.getLength()];
+        new Random(2).nextBytes(data);
+        // a direct big endian buffer, the report starts at the position 3
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length + 3);
+        buffer.position(3);
+        buffer.put(data);
+        buffer.position(3);
+
+        float[] expected = new float[decoder.size()];
+        decoder.decode(data, expected);
+        float[] actual = new float[decoder.size()];
+        decoder.decode(buffer, actual);
+        assertArrayEquals(expected, actual);
+        assertEquals(3, buffer.position());
+
+        for (int i = 0; i < decoder.size(); i++) {
+            Field field = decoder.getField(i);
+            assertEquals(field.getValue(data), field.getValue(buffer), field.toString());
+            field.setValue(buffer, 1);
+            assertEquals(1, field.getValue(buffer));
+        }
+    }
+
+    @Test
+    void test5() throws IOException {
+        byte[] descriptor = ReportDecoderTest.class.getResourceAsStream("/ds4_ir_desc.dat").readAllBytes();
+        HidParser parser = new HidParser();
+        parser.parse(descriptor, descriptor.length);
+        ReportDecoder decoder = ReportDecoder.compile(parser.getReport(HidParser.HID_INPUT_REPORT, 1));
+
+        byte[] previous = new byte[decoder.getLength()];
+        new Random(3).nextBytes(previous);
+        int[] changed = new int[decoder.size()];
+        assertEquals(decoder.size(), decoder.diff(null, previous, changed));
+        assertEquals(0, decoder.diff(previous, previous.clone(), changed));
+
+        // every single field alone, including the ones across 64 bit lanes
+        for (int i = 0; i < decoder.size(); i++) {
+            Field field = decoder.getField(i);
+            byte[] data = previous.clone();
+            field.setValue(data, field.getValue(data) ^ 1);
+            assertEquals(1, decoder.diff(previous, data, changed), field.toString());
+            assertEquals(i, changed[0]);
+            float[] values = new float[decoder.size()];
+            decoder.decode(data, values);
+            assertEquals(values[i], decoder.getValue(data, i));
+        }
+    }
+
+    @Test
+    void test6() {
+        // a field over bit 32 of the loaded bytes, same on both paths
+        Field field = new Field(4, 32);
+        byte[] data = new byte[6];
+        data[1] = 0x0f;
+        data[5] = (byte) 0xf0;
+        field.setValue(data, 0x87654321);
+        assertArrayEquals(new byte[] {0, 0x1f, 0x32, 0x54, 0x76, (byte) 0xf8}, data);
+        assertEquals(0x87654321, field.getValue(data));
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(7).position(1);
+        buffer.put(6, (byte) 0xf0);
+        field.setValue(buffer, 0x87654321);
+        assertEquals(0x87654321, field.getValue(buffer));
+        assertEquals((byte) 0xf8, buffer.get(6));
+        assertEquals(1, buffer.position());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.usb.parser;
+
+import java.io.IOException;
+import java.util.Random;
+
+import net.java.games.input.plugin.DualShock4PluginBase.Report5;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * ReportEncoderTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+class ReportEncoderTest {
+
+    @Test
+    void test1() throws IOException {
+        byte[] descriptor = ReportEncoderTest.class.getResourceAsStream("/ds4_ir_desc.dat").readAllBytes();
+        HidParser parser = new HidParser();
+        parser.parse(descriptor, descriptor.length);
+        Random random = new Random(5);
+        int count = 0;
+        for (Report report : parser.getReports()) {
+            if (report.getType() == HidParser.HID_INPUT_REPORT)
+                continue;
+            ReportEncoder encoder = ReportEncoder.compile(report);
+            ReportDecoder decoder = ReportDecoder.compile(report);
+            assertEquals(decoder.size(), encoder.size());
+
+            int[] values = new int[encoder.size()];
+            for (int i = 0; i < values.length; i++)
+                values[i] = random.nextInt();
+            byte[] data = encoder.newBuffer();
+            encoder.encode(values, data);
+            assertEquals(report.getId(), data[0] & 0xff);
+
+            int[] decoded = new int[decoder.size()];
+            decoder.decode(data, decoded);
+            for (int i = 0; i < values.length; i++) {
+                Field field = encoder.getField(i);
+                int shift = 32 - field.reportSize;
+                int expected = field.getLogicalMinimum() < 0 ? values[i] << shift >> shift : values[i] << shift >>> shift;
+                assertEquals(expected, decoded[i], field.toString());
+                assertEquals(expected, field.getValue(data), field.toString());
+            }
+
+            // the previous contents of the buffer do not matter
+            byte[] dirty = encoder.newBuffer();
+            random.nextBytes(dirty);
+            encoder.encode(values, dirty);
+            assertArrayEquals(data, dirty);
+            count++;
+        }
+        assertTrue(count > 0);
+    }
+
+    @Test
+    void test2() {
+        Report5 report = new Report5();
+        assertTrue(report.isDirty());
+        report.markSent();
+        assertFalse(report.isDirty());
+        report.getData()[5] = (byte) 0xff;
+        assertTrue(report.isDirty());
+        report.markSent();
+        assertFalse(report.isDirty());
+    }
+}
@@ -1,18 +1,15 @@
 package net.java.games.input.example;
 
-import java.util.Arrays;
-
 import net.java.games.input.Component;
 import net.java.games.input.ControllerEnvironment;
 import net.java.games.input.Event;
-import net.java.games.input.EventQueue;
-import net.java.games.input.PollingController;
+import net.java.games.input.MergedEventQueue;
 
 
 /**
  * This class shows how to use the event queue system in JInput. It will show
- * how to get the controllers, how to get the event queue for a controller, and
- * how to read and process events from the queue.
+ * how to poll all the controllers of an environment at once, and how to read
+ * and process their events from the merged queue.
  *
  * @author Endolf
  */
@@ -24,52 +21,47 @@ public class ReadAllEvents {
         StringBuffer buffer = new StringBuffer();
 
         // Get the available controllers
-        PollingController[] controllers = Arrays.stream(ControllerEnvironment.getDefaultEnvironment().getControllers()).map(PollingController.class::cast).toArray(PollingController[]::new);
-        if (controllers.length == 0) {
+        ControllerEnvironment environment = ControllerEnvironment.getDefaultEnvironment();
+        if (environment.getControllers().length == 0) {
             System.out.println("Found no controllers.");
             return;
         }
 
         while (true) {
 
-            for (PollingController controller : controllers) {
-                // Remember to poll each one
-                controller.poll();
-
-                // Get the controllers event queue
-                EventQueue queue = controller.getEventQueue();
+            // Poll every controller, their events come merged in time order
+            MergedEventQueue queue = environment.pollAll();
 
-                // For each object in the queue
-                while (queue.getNextEvent(event)) {
+            // For each object in the queue
+            while (queue.getNextEvent(event)) {
 
-                    // Create a string buffer and put in it, the controller name,
-                    // the time stamp of the event, the name of the component
-                    // that changed and the new value.
-                    //
-                    // Note that the timestamp is a relative thing, not
-                    // absolute, we can tell what order events happened in
-                    // across controllers this way. We can not use it to tell
-                    // exactly *when* an event happened just the order.
-                    buffer.setLength(0);
-                    buffer.append(" at ");
-                    buffer.append(event.getNanos()).append(", ");
-                    Component comp = event.getComponent();
-                    buffer.append(comp.getName()).append(" changed to ");
-                    float value = event.getValue();
+                // Create a string buffer and put in it, the controller name,
+                // the time stamp of the event, the name of the component
+                // that changed and the new value.
+                //
+                // Note that the timestamp is on the System.nanoTime()
+                // timeline, the merged queue uses it to order events
+                // across controllers, and it can be compared with
+                // System.nanoTime() to tell how long ago an event happened.
+                buffer.setLength(0);
+                buffer.append(" at ");
+                buffer.append(event.getNanos()).append(", ");
+                Component comp = event.getComponent();
+                buffer.append(comp.getName()).append(" changed to ");
+                float value = event.getValue();
 
-                    // Check the type of the component and display an
-                    // appropriate value
-                    if (comp.isAnalog()) {
-                        buffer.append(value);
+                // Check the type of the component and display an
+                // appropriate value
+                if (comp.isAnalog()) {
+                    buffer.append(value);
+                } else {
+                    if (value == 1.0f) {
+                        buffer.append("On");
                     } else {
-                        if (value == 1.0f) {
-                            buffer.append("On");
-                        } else {
-                            buffer.append("Off");
-                        }
+                        buffer.append("Off");
                     }
-                    System.out.println(buffer);
                 }
+                System.out.println(buffer);
             }
 
             // Sleep for 20 milliseconds, in here only so the example doesn't
@@ -34,13 +34,13 @@ package net.java.games.input.osx;
 
 import java.io.IOException;
 
+import net.java.games.input.ClockDomain;
 import net.java.games.input.Component;
 import net.java.games.input.Controller;
 import net.java.games.input.Event;
 import net.java.games.input.PollingController;
 import net.java.games.input.Rumbler;
 import net.java.games.input.usb.HidController;
-import net.java.games.input.usb.HidRumbler;
 
 import static vavix.rococoa.iokit.IOKitLib.kIOHIDReportTypeOutput;
 
@@ -64,6 +64,12 @@ final class OSXController extends PollingController implements HidController {
         this.device = device;
     }
 
+    /** {@link OSXEvent} is stamped with {@link System#nanoTime()} */
+    @Override
+    protected ClockDomain createClockDomain() {
+        return ClockDomain.MONOTONIC;
+    }
+
     @Override
     protected synchronized boolean getNextDeviceEvent(Event event) throws IOException {
         // for event listener
@@ -102,13 +108,14 @@ final class OSXController extends PollingController implements HidController {
 
     @Override
     public void output(Report report) throws IOException {
-        report.cascadeTo(getRumblers());
-
-        int reportId = ((HidReport) report).getReportId();
-        byte[] data = ((HidReport) report).getData();
-        for (Rumbler rumbler : getRumblers()) {
-            ((HidRumbler) rumbler).fill(data);
-        }
-        device.setReport(kIOHIDReportTypeOutput, reportId, data, data.length);
+        HidReport hidReport = (HidReport) report;
+        hidReport.setup(getRumblers());
+        // leds and rumbles set every frame are written only when they change
+        if (!hidReport.isDirty())
+            return;
+
+        byte[] data = hidReport.getData();
+        device.setReport(kIOHIDReportTypeOutput, hidReport.getReportId(), data, data.length);
+        hidReport.markSent();
     }
 }
@@ -35,6 +35,7 @@ package net.java.games.input.osx;
 import java.io.IOException;
 
 import net.java.games.input.AbstractController;
+import net.java.games.input.ClockDomain;
 import net.java.games.input.Component;
 import net.java.games.input.Controller;
 import net.java.games.input.Event;
@@ -61,6 +62,12 @@ final class OSXMouse extends Mouse {
         this.osxEvent = device.osxEvent;
     }
 
+    /** {@link OSXEvent} is stamped with {@link System#nanoTime()} */
+    @Override
+    protected ClockDomain createClockDomain() {
+        return ClockDomain.MONOTONIC;
+    }
+
     @Override
     protected synchronized boolean getNextDeviceEvent(Event event) throws IOException {
         if (queue.getNextEvent(osxEvent)) {
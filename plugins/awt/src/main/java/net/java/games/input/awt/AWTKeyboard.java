@@ -103,9 +103,15 @@ final class AWTKeyboard extends Keyboard implements AWTEventListener {
     }
 
     @Override
-    public synchronized void eventDispatched(AWTEvent event) {
-        if (event instanceof KeyEvent)
-            awtEvents.add((KeyEvent) event);
+    public void eventDispatched(AWTEvent event) {
+        if (event instanceof KeyEvent) {
+            synchronized (this) {
+                awtEvents.add((KeyEvent) event);
+            }
+            // push mode, the event dispatch thread is the reader
+            if (isPushMode())
+                poll();
+        }
     }
 
     @Override
@@ -167,8 +167,13 @@ final class AWTMouse extends Mouse implements AWTEventListener {
     }
 
     @Override
-    public synchronized void eventDispatched(AWTEvent event) {
-        awtEvents.add(event);
+    public void eventDispatched(AWTEvent event) {
+        synchronized (this) {
+            awtEvents.add(event);
+        }
+        // push mode, the event dispatch thread is the reader
+        if (isPushMode())
+            poll();
     }
 
     @Override
@@ -38,7 +38,7 @@ import com.sun.jna.Structure;
  *
  * @author elias
  */
-class LinuxAbsInfo extends Structure {
+public class LinuxAbsInfo extends Structure {
 
     public int value;
     public int minimum;
@@ -12,6 +12,8 @@ public class LinuxCombinedController extends PollingController {
 
     private final LinuxControllerImpl eventController;
     private final LinuxJoystickAbstractController joystickController;
+    /** receives the events of the event device, they are not delivered */
+    private final Event discarded = new Event();
 
     LinuxCombinedController(LinuxControllerImpl eventController, LinuxJoystickAbstractController joystickController) {
         super(eventController.getName(), joystickController.getComponents(), eventController.getControllers(), eventController.getRumblers());
@@ -29,9 +31,22 @@ public class LinuxCombinedController extends PollingController {
         return eventController.getPortType();
     }
 
+    @Override
+    public void open() throws IOException {
+        eventController.getDevice().reset();
+        super.open();
+    }
+
+    @Override
+    protected void pushModeChanged() {
+        LinuxEnvironmentPlugin.getEventReader().update(this, isOpen(), isPushMode(), eventController.getDevice(), joystickController.getDevice());
+    }
+
     @Override
     public final void pollDevice() throws IOException {
         eventController.pollDevice();
+        // drains the event device, its state is shadowed from the events
+        while (eventController.getNextDeviceEvent(discarded));
         joystickController.pollDevice();
     }
 
@@ -67,17 +67,16 @@ class LinuxComponent extends PollingComponent {
         return convertValue(poll(component), component.getDescriptor());
     }
 
-    /** Declared synchronized to protect absInfo */
+    /** reads the shadow state of the device, no system call */
     protected float poll(LinuxEventComponent eventComponent) throws IOException {
         int nativeType = eventComponent.getDescriptor().getType();
+        int nativeCode = eventComponent.getDescriptor().getCode();
         switch (nativeType) {
         case NativeDefinitions.EV_KEY:
-            int nativeCode = eventComponent.getDescriptor().getCode();
             float state = eventComponent.getDevice().isKeySet(nativeCode) ? 1f : 0f;
             return state;
         case NativeDefinitions.EV_ABS:
-            eventComponent.getAbsInfo(eventComponent.absInfo);
-            return eventComponent.absInfo.getValue();
+            return eventComponent.getDevice().getAbsValue(nativeCode);
         default:
             throw new RuntimeException("Unknown nativeType: " + nativeType);
         }
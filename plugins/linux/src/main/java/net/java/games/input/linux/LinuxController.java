@@ -45,14 +45,20 @@ import net.java.games.input.Event;
  */
 interface LinuxController {
 
-    /** Declared synchronized to protect linuxEvent */
-    default boolean getNextDeviceEvent(Event event, LinuxEventDevice device) throws IOException {
-        while (device.getNextEvent(device.linuxEvent)) {
-            LinuxAxisDescriptor descriptor = device.linuxEvent.getDescriptor();
+    /**
+     * The events come frame by frame, so the state published by a poll never
+     * holds a half of a hardware frame. EV_SYN is not mapped to a component and skipped.
+     *
+     * @param linuxEvent scratch space owned by the calling controller
+     * @see LinuxEventDevice#getNextEvent(LinuxEvent)
+     */
+    default boolean getNextDeviceEvent(Event event, LinuxEventDevice device, LinuxEvent linuxEvent) throws IOException {
+        while (device.getNextEvent(linuxEvent)) {
+            LinuxAxisDescriptor descriptor = linuxEvent.getDescriptor();
             LinuxComponent component = device.mapDescriptor(descriptor);
             if (component != null) {
-                float value = component.convertValue(device.linuxEvent.getValue(), descriptor);
-                event.set(component, value, device.linuxEvent.getNanos());
+                float value = component.convertValue(linuxEvent.getValue(), descriptor);
+                event.set(component, value, linuxEvent.getNanos());
                 return true;
             }
         }
@@ -52,6 +52,7 @@ final class LinuxControllerImpl extends PollingController implements LinuxContro
 
     private final PortType port;
     private final LinuxEventDevice device;
+    private final LinuxEvent linuxEvent = new LinuxEvent();
     private final Type type;
 
     LinuxControllerImpl(LinuxEventDevice device, Component[] components, Controller[] children, Rumbler[] rumblers, Type type) throws IOException {
@@ -61,19 +62,34 @@ final class LinuxControllerImpl extends PollingController implements LinuxContro
         this.type = type;
     }
 
+    LinuxEventDevice getDevice() {
+        return device;
+    }
+
     @Override
     public PortType getPortType() {
         return port;
     }
 
+    @Override
+    public void open() throws IOException {
+        device.reset();
+        super.open();
+    }
+
+    @Override
+    protected void pushModeChanged() {
+        LinuxEnvironmentPlugin.getEventReader().update(this, isOpen(), isPushMode(), device);
+    }
+
     @Override
     public void pollDevice() throws IOException {
-        device.pollKeyStates();
+        // the state of the device is shadowed from the events, see LinuxEventDevice#getNextEvent
     }
 
     @Override
     protected boolean getNextDeviceEvent(Event event) throws IOException {
-        return getNextDeviceEvent(event, device);
+        return getNextDeviceEvent(event, device, linuxEvent);
     }
 
     @Override
@@ -35,4 +35,7 @@ import java.io.IOException;
 interface LinuxDevice {
 
     void close() throws IOException;
+
+    /** @return the file descriptor to wait on for input */
+    int getFd();
 }
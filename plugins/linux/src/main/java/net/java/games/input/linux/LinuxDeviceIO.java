@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.linux;
+
+import java.util.logging.Logger;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+
+
+/**
+ * The system calls issued on every poll of a device, read(2), write(2) and ioctl(2).
+ * <p>
+ * Sizes and requests are passed as long, and buffers as native memory preallocated
+ * by the caller, so that a call through {@link LinuxDirectIO} allocates nothing.
+ * {@link Jna} goes through the {@link LinuxIO} library proxy and is the fallback.
+ * Errors are reported by {@link Native#getLastError()} as {@link LinuxIO}.
+ * <p>
+ * system properties
+ * <ul>
+ *  <li>net.java.games.input.linux.LinuxDeviceIO.backend ... "direct" (default) or "jna"</li>
+ * </ul>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+interface LinuxDeviceIO {
+
+    /** @return bytes read, -1 on error */
+    long read(int fd, Pointer buffer, long size);
+
+    /**
+     * Reads into the buffer from the offset.
+     *
+     * @return bytes read, -1 on error
+     */
+    default long read(int fd, Pointer buffer, long offset, long size) {
+        return read(fd, buffer.share(offset), size);
+    }
+
+    /** @return bytes written, -1 on error */
+    long write(int fd, Pointer buffer, long size);
+
+    /** @return -1 on error */
+    int ioctl(int fd, long request, Pointer arg);
+
+    /** the selected backend */
+    LinuxDeviceIO INSTANCE = Backend.select(System.getProperty("net.java.games.input.linux.LinuxDeviceIO.backend", "direct"));
+
+    /** through the {@link LinuxIO} library proxy */
+    final class Jna implements LinuxDeviceIO {
+
+        @Override
+        public long read(int fd, Pointer buffer, long size) {
+            return LinuxIO.INSTANCE.read(fd, buffer, new NativeLong(size)).longValue();
+        }
+
+        @Override
+        public long write(int fd, Pointer buffer, long size) {
+            return LinuxIO.INSTANCE.write(fd, buffer, new NativeLong(size)).longValue();
+        }
+
+        @Override
+        public int ioctl(int fd, long request, Pointer arg) {
+            return LinuxIO.INSTANCE.ioctl(fd, new NativeLong(request), arg);
+        }
+    }
+
+    /** keeps the selection out of the interface */
+    final class Backend {
+
+        private static final Logger log = Logger.getLogger(LinuxDeviceIO.class.getName());
+
+        private Backend() {
+        }
+
+        static LinuxDeviceIO select(String name) {
+            if (name.equals("direct")) {
+                try {
+                    return LinuxDirectIO.create();
+                } catch (UnsatisfiedLinkError | UnsupportedOperationException e) {
+                    log.fine("direct mapping is not available, fall back to jna: " + e.getMessage());
+                }
+            } else if (!name.equals("jna")) {
+                log.warning("unknown backend: " + name + ", use jna");
+            }
+            return new Jna();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.linux;
+
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+
+
+/**
+ * {@link LinuxDeviceIO} by the direct mapping of JNA.
+ * <p>
+ * The functions are bound to native methods by {@link Native#register(String)},
+ * so that a call skips the reflective proxy and the argument conversion of a
+ * {@link com.sun.jna.Library}, only primitives and pointers cross the boundary.
+ * size_t and unsigned long are mapped to long, so this is available on LP64 only.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+final class LinuxDirectIO implements LinuxDeviceIO {
+
+    private static boolean registered;
+
+    /**
+     * @throws UnsupportedOperationException not LP64
+     * @throws UnsatisfiedLinkError libc is not found
+     */
+    static synchronized LinuxDirectIO create() {
+        if (Native.LONG_SIZE != 8)
+            throw new UnsupportedOperationException("sizeof(long): " + Native.LONG_SIZE);
+        if (!registered) {
+            Native.register(LinuxDirectIO.class, "c");
+            registered = true;
+        }
+        return new LinuxDirectIO();
+    }
+
+    private LinuxDirectIO() {
+    }
+
+    private static native long read(int fd, long buffer, long size);
+
+    private static native long write(int fd, long buffer, long size);
+
+    private static native int ioctl(int fd, long request, long arg);
+
+    @Override
+    public long read(int fd, Pointer buffer, long size) {
+        return read(fd, Pointer.nativeValue(buffer), size);
+    }
+
+    @Override
+    public long read(int fd, Pointer buffer, long offset, long size) {
+        return read(fd, Pointer.nativeValue(buffer) + offset, size);
+    }
+
+    @Override
+    public long write(int fd, Pointer buffer, long size) {
+        return write(fd, Pointer.nativeValue(buffer), size);
+    }
+
+    @Override
+    public int ioctl(int fd, long request, Pointer arg) {
+        return ioctl(fd, request, Pointer.nativeValue(arg));
+    }
+}
@@ -60,6 +60,7 @@ public final class LinuxEnvironmentPlugin extends ControllerListenerSupport impl
     private List<Controller> controllers;
     private final List<LinuxDevice> devices = new ArrayList<>();
     private final static LinuxDeviceThread deviceThread = new LinuxDeviceThread();
+    private final static LinuxEventReader eventReader = new LinuxEventReader();
 
     static {
         String osName = System.getProperty("os.name", "").trim();
@@ -72,6 +73,11 @@ public final class LinuxEnvironmentPlugin extends ControllerListenerSupport impl
         return deviceThread.execute(task);
     }
 
+    /** open controllers push their events through this */
+    static LinuxEventReader getEventReader() {
+        return eventReader;
+    }
+
     public LinuxEnvironmentPlugin() {
         if (isSupported()) {
             Runtime.getRuntime().addShutdownHook(new Thread(this::shutdownHook));
@@ -386,6 +392,7 @@ log.fine("Linux plugin claims to have found " + controllers.size() + " controlle
     }
 
     private void shutdownHook() {
+        eventReader.close();
         for (LinuxDevice linuxDevice : devices) {
             try {
                 LinuxDevice device = linuxDevice;
@@ -400,4 +407,10 @@ log.fine("Linux plugin claims to have found " + controllers.size() + " controlle
     public boolean isSupported() {
         return supported;
     }
+
+    /** waits for the devices of the open controllers by epoll */
+    @Override
+    public boolean awaitEvents(long timeout) throws InterruptedException {
+        return eventReader.await(timeout);
+    }
 }
@@ -26,53 +26,48 @@
 
 package net.java.games.input.linux;
 
-import java.util.Arrays;
-import java.util.List;
-
-import com.sun.jna.Pointer;
-import com.sun.jna.Structure;
-
 
 /**
+ * A decoded struct input_event, reused for every event.
+ *
  * @author elias
+ * @see LinuxEventDevice#getNextEvent(LinuxEvent)
  */
-class LinuxEvent extends Structure {
+final class LinuxEvent {
 
-    public timeval time;
-    public int type;
-    public int code;
-    public int value;
+    private long nanos;
+    private int type;
+    private int code;
+    private int value;
     private final LinuxAxisDescriptor descriptor = new LinuxAxisDescriptor();
 
-    public LinuxEvent() {
-    }
-
-    public LinuxEvent(Pointer p) {
-        super(p);
+    /** @param nanos the time of the event */
+    void set(long nanos, int type, int code, int value) {
+        this.nanos = nanos;
+        this.type = type;
+        this.code = code;
+        this.value = value;
+        descriptor.set(type, code);
     }
 
-    public static class ByReference extends LinuxEvent implements Structure.ByReference {
-
-    }
-
-    public static class ByValue extends LinuxEvent implements Structure.ByValue {
-
+    public final int getType() {
+        return type;
     }
 
-    @Override
-    protected List<String> getFieldOrder() {
-        return Arrays.asList("time", "type", "code", "value");
+    public final int getCode() {
+        return code;
     }
 
     public final int getValue() {
         return value;
     }
 
+    /** type and code */
     public final LinuxAxisDescriptor getDescriptor() {
         return descriptor;
     }
 
     public final long getNanos() {
-        return time.toNanos();
+        return nanos;
     }
 }
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.linux;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+
+import static com.sun.jna.platform.linux.ErrNo.EAGAIN;
+import static com.sun.jna.platform.linux.ErrNo.EINTR;
+import static net.java.games.input.linux.LinuxIO.SYN_DROPPED;
+import static net.java.games.input.linux.LinuxIO.SYN_REPORT;
+
+
+/**
+ * Reads struct input_event in batches.
+ * <p>
+ * One read(2) fills a preallocated native buffer with as many events as available
+ * up to the capacity, the events are decoded by hand from the fixed offsets of
+ * the struct and handed out in order, the next read is issued only when
+ * all of them are consumed. Nothing is allocated per read nor per event.
+ * Events are handed out frame by frame, see {@link #next(int, LinuxEvent)}.
+ * <pre>
+ * struct input_event {
+ *     struct timeval time; // long tv_sec, long tv_usec
+ *     __u16 type;
+ *     __u16 code;
+ *     __s32 value;
+ * };
+ * </pre>
+ * An instance is not thread safe, the owner synchronizes.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+final class LinuxEventBuffer {
+
+    /** sizeof(struct input_event), 24 on 64 bit, 16 on 32 bit */
+    static final int EVENT_SIZE = Native.LONG_SIZE * 2 + 8;
+
+    private static final int OFFSET_USEC = Native.LONG_SIZE;
+    private static final int OFFSET_TYPE = Native.LONG_SIZE * 2;
+    private static final int OFFSET_CODE = OFFSET_TYPE + 2;
+    private static final int OFFSET_VALUE = OFFSET_TYPE + 4;
+
+    /** events read by one read(2) at most */
+    static final int DEFAULT_CAPACITY = Integer.getInteger("net.java.games.input.linux.LinuxEventBuffer.capacity", 64);
+
+    /** reads the fd */
+    private final LinuxDeviceIO io;
+    private final Memory memory;
+    private final ByteBuffer view;
+
+    /** bytes of the valid events in the buffer */
+    private int limit;
+    /** bytes of the events consumed */
+    private int position;
+    /** the end of the last complete frame, events are handed out up to here */
+    private int frameEnd;
+    /** bytes of the events looked for the frame boundaries */
+    private int scanned;
+    /** discarding the events until the next SYN_REPORT */
+    private boolean dropping;
+    /** the offset of the SYN_DROPPED kept while dropping */
+    private int droppedAt;
+
+    /**
+     * @param capacity events read by one read(2) at most
+     * @param io reads the fd
+     */
+    LinuxEventBuffer(int capacity, LinuxDeviceIO io) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity: " + capacity);
+        this.io = io;
+        this.memory = new Memory((long) EVENT_SIZE * capacity);
+        this.view = memory.getByteBuffer(0, memory.size()).order(ByteOrder.nativeOrder());
+    }
+
+    /** @return events read by one read(2) at most */
+    int getCapacity() {
+        return (int) (memory.size() / EVENT_SIZE);
+    }
+
+    /** @return the number of the events of the complete frames read but not consumed */
+    int available() {
+        return (frameEnd - position) / EVENT_SIZE;
+    }
+
+    /** discards the events read but not consumed, including a partial frame */
+    void clear() {
+        limit = 0;
+        position = 0;
+        frameEnd = 0;
+        scanned = 0;
+        dropping = false;
+    }
+
+    /**
+     * Hands out the next event of the complete frames, reads the fd only when
+     * they are drained.
+     * <p>
+     * The events of a frame are handed out only after its SYN_REPORT is read,
+     * so that a consumer never sees a half of a frame. When the kernel dropped
+     * events, the partial frame before SYN_DROPPED and the events up to and including
+     * the next SYN_REPORT are discarded, and SYN_DROPPED is handed out instead of them.
+     * The consumer must read the state of the device then.
+     * A frame larger than the buffer is handed out as it is.
+     *
+     * @param fd non-blocking file descriptor to read
+     * @param event receives the next event
+     * @return false when no event is available
+     */
+    boolean next(int fd, LinuxEvent event) throws IOException {
+        if (position >= frameEnd && !fill(fd))
+            return false;
+        decode(view, position, event);
+        position += EVENT_SIZE;
+        return true;
+    }
+
+    /** @return false when no complete frame is read */
+    private boolean fill(int fd) throws IOException {
+        compact();
+        while (true) {
+            long result;
+            do {
+                result = io.read(fd, memory, limit, memory.size() - limit);
+            } while (result == -1 && Native.getLastError() == EINTR);
+            if (result == -1) {
+                int errno = Native.getLastError();
+                if (errno == EAGAIN)
+                    return false;
+                throw new IOException(String.format("Failed to read next device event (%d)", errno));
+            }
+            if (result < EVENT_SIZE)
+                return false;
+            // evdev returns whole events only
+            limit += (int) (result - result % EVENT_SIZE);
+            scan();
+            if (frameEnd > position)
+                return true;
+            if (limit == memory.size()) {
+                // no room to complete the frame
+                frameEnd = limit;
+                scanned = limit;
+                return true;
+            }
+        }
+    }
+
+    /** moves the partial frame to the head of the buffer */
+    private void compact() {
+        int from = position;
+        if (from == 0)
+            return;
+        for (int i = from; i < limit; i += Integer.BYTES)
+            view.putInt(i - from, view.getInt(i));
+        limit -= from;
+        scanned -= from;
+        droppedAt -= from;
+        frameEnd = 0;
+        position = 0;
+    }
+
+    /** removes the events of [from, to) */
+    private void remove(int from, int to) {
+        for (int i = to; i < limit; i += Integer.BYTES)
+            view.putInt(from + i - to, view.getInt(i));
+        limit -= to - from;
+    }
+
+    /** finds the frame boundaries of the events read */
+    private void scan() {
+        while (scanned < limit) {
+            int type = view.getShort(scanned + OFFSET_TYPE) & 0xffff;
+            int code = view.getShort(scanned + OFFSET_CODE) & 0xffff;
+            boolean syn = type == NativeDefinitions.EV_SYN;
+            if (dropping) {
+                remove(scanned, scanned + EVENT_SIZE);
+                if (syn && code == SYN_REPORT) {
+                    dropping = false;
+                    frameEnd = droppedAt + EVENT_SIZE;
+                }
+            } else if (syn && code == SYN_DROPPED) {
+                remove(frameEnd, scanned);
+                dropping = true;
+                droppedAt = frameEnd;
+                scanned = frameEnd + EVENT_SIZE;
+            } else {
+                scanned += EVENT_SIZE;
+                if (syn && code == SYN_REPORT)
+                    frameEnd = scanned;
+            }
+        }
+    }
+
+    /** decodes one struct input_event at the offset */
+    static void decode(ByteBuffer buffer, int offset, LinuxEvent event) {
+        long sec, usec;
+        if (Native.LONG_SIZE == 8) {
+            sec = buffer.getLong(offset);
+            usec = buffer.getLong(offset + OFFSET_USEC);
+        } else {
+            sec = buffer.getInt(offset);
+            usec = buffer.getInt(offset + OFFSET_USEC);
+        }
+        int type = buffer.getShort(offset + OFFSET_TYPE) & 0xffff;
+        int code = buffer.getShort(offset + OFFSET_CODE) & 0xffff;
+        int value = buffer.getInt(offset + OFFSET_VALUE);
+        event.set(sec * 1_000_000_000L + usec * 1_000L, type, code, value);
+    }
+
+    /** encodes one struct input_event at the offset, the time is 0 (the kernel stamps it) */
+    static void encode(ByteBuffer buffer, int offset, int type, int code, int value) {
+        if (Native.LONG_SIZE == 8) {
+            buffer.putLong(offset, 0);
+            buffer.putLong(offset + OFFSET_USEC, 0);
+        } else {
+            buffer.putInt(offset, 0);
+            buffer.putInt(offset + OFFSET_USEC, 0);
+        }
+        buffer.putShort(offset + OFFSET_TYPE, (short) type);
+        buffer.putShort(offset + OFFSET_CODE, (short) code);
+        buffer.putInt(offset + OFFSET_VALUE, value);
+    }
+}
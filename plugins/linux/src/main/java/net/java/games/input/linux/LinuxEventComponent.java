@@ -47,8 +47,6 @@ final class LinuxEventComponent {
     private final int max;
     private final int flat;
 
-    final LinuxAbsInfo absInfo = new LinuxAbsInfo();
-
     public LinuxEventComponent(LinuxEventDevice device, Component.Identifier identifier, boolean isRelative, int nativeType, int nativeCode) throws IOException {
         this.device = device;
         this.identifier = identifier;
@@ -27,6 +27,8 @@
 package net.java.games.input.linux;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -36,13 +38,11 @@ import java.util.logging.Logger;
 
 import com.sun.jna.Memory;
 import com.sun.jna.Native;
-import com.sun.jna.NativeLong;
 import com.sun.jna.ptr.IntByReference;
 import net.java.games.input.Component;
 import net.java.games.input.Controller;
 import net.java.games.input.Rumbler;
 
-import static com.sun.jna.platform.linux.ErrNo.EAGAIN;
 import static net.java.games.input.linux.LinuxIO.EVIOCGABS;
 import static net.java.games.input.linux.LinuxIO.EVIOCGBIT;
 import static net.java.games.input.linux.LinuxIO.EVIOCGEFFECTS;
@@ -55,6 +55,7 @@ import static net.java.games.input.linux.LinuxIO.EVIOCSFF;
 import static net.java.games.input.linux.LinuxIO.O_NONBLOCK;
 import static net.java.games.input.linux.LinuxIO.O_RDONLY;
 import static net.java.games.input.linux.LinuxIO.O_RDWR;
+import static net.java.games.input.linux.LinuxIO.SYN_DROPPED;
 import static net.java.games.input.linux.ffeffect.FF_CONSTANT;
 import static net.java.games.input.linux.ffeffect.FF_RUMBLE;
 
@@ -66,6 +67,9 @@ final class LinuxEventDevice implements LinuxDevice {
 
     private static final Logger log = Logger.getLogger(LinuxEventDevice.class.getName());
 
+    /** sizeof(struct input_absinfo) */
+    private static final int ABS_INFO_SIZE = 6 * Integer.BYTES;
+
     private final Map<LinuxAxisDescriptor, LinuxComponent> componentMap = new HashMap<>();
     private final Rumbler[] rumblers;
     private final long fd;
@@ -73,8 +77,8 @@ final class LinuxEventDevice implements LinuxDevice {
     private final LinuxInputID inputId;
     private final List<LinuxEventComponent> components;
     private final Controller.Type type;
-
-    final LinuxEvent linuxEvent = new LinuxEvent();
+    /** read(2), write(2) and ioctl(2) on the fd */
+    private final LinuxDeviceIO io;
 
     /**
      * Closed state variable that protects the validity of the file descriptor.
@@ -83,11 +87,47 @@ final class LinuxEventDevice implements LinuxDevice {
     private boolean closed;
 
     /**
+     * Shadow of the key states, updated from the events.
      * Access to the keyStates array could be synchronized, but
      * it doesn't hurt to have multiple threads read/write from/to it
      */
     private final byte[] keyStates = new byte[NativeDefinitions.KEY_MAX / 8 + 1];
 
+    /** shadow of the absolute axis values by code, updated from the events */
+    private final int[] absValues = new int[NativeDefinitions.ABS_CNT];
+
+    /** events read but not consumed yet */
+    private final LinuxEventBuffer readBuffer;
+    /** receives the events discarded by {@link #reset()} */
+    private final LinuxEvent discarded = new LinuxEvent();
+
+    /** one struct input_event to write */
+    private final Memory writeBuffer = new Memory(LinuxEventBuffer.EVENT_SIZE);
+    private final ByteBuffer writeView = writeBuffer.getByteBuffer(0, writeBuffer.size()).order(ByteOrder.nativeOrder());
+
+    /** receives the key states */
+    private final Memory keyBuffer = new Memory(keyStates.length);
+    private final long keyRequest = EVIOCGKEY(keyStates.length).longValue();
+
+    /** receives a struct input_absinfo */
+    private final Memory absBuffer = new Memory(ABS_INFO_SIZE);
+    /** the absolute axes of the device */
+    private int[] absCodes;
+    private long[] absRequests;
+
+    /** the shadow state before resync */
+    private final byte[] keyStatesBefore = new byte[keyStates.length];
+    private final int[] absValuesBefore = new int[absValues.length];
+
+    /** the changes found by resync, handed out before the next events */
+    private final int[] pendingTypes = new int[NativeDefinitions.KEY_CNT + NativeDefinitions.ABS_CNT];
+    private final int[] pendingCodes = new int[pendingTypes.length];
+    private final int[] pendingValues = new int[pendingTypes.length];
+    private int pendingCount;
+    private int pendingIndex;
+    /** the time of the SYN_DROPPED */
+    private long pendingNanos;
+
     public LinuxEventDevice(String filename) throws IOException {
         long fd;
         boolean detectRumblers = true;
@@ -98,6 +138,8 @@ final class LinuxEventDevice implements LinuxDevice {
             detectRumblers = false;
         }
         this.fd = fd;
+        this.io = LinuxDeviceIO.INSTANCE;
+        this.readBuffer = new LinuxEventBuffer(LinuxEventBuffer.DEFAULT_CAPACITY, io);
         try {
             this.name = getDeviceName();
             this.inputId = getDeviceInputID();
@@ -107,12 +149,43 @@ final class LinuxEventDevice implements LinuxDevice {
             else
                 this.rumblers = new Rumbler[] {};
             this.type = guessType();
+            setAbsCodes(components.stream()
+                    .filter(c -> c.getDescriptor().getType() == NativeDefinitions.EV_ABS)
+                    .mapToInt(c -> c.getDescriptor().getCode()).toArray());
+            resync();
         } catch (IOException e) {
             close();
             throw e;
         }
     }
 
+    /**
+     * For tests, a device of the fd without components nor rumblers.
+     *
+     * @param absCodes the absolute axes of the device
+     * @param io issues the system calls on the fd
+     * @throws IOException when the state can not be read
+     */
+    LinuxEventDevice(int fd, int[] absCodes, LinuxDeviceIO io) throws IOException {
+        this.fd = fd;
+        this.io = io;
+        this.readBuffer = new LinuxEventBuffer(LinuxEventBuffer.DEFAULT_CAPACITY, io);
+        this.name = "fd " + fd;
+        this.inputId = null;
+        this.components = List.of();
+        this.rumblers = new Rumbler[0];
+        this.type = Controller.Type.UNKNOWN;
+        setAbsCodes(absCodes);
+        resync();
+    }
+
+    private void setAbsCodes(int[] absCodes) {
+        this.absCodes = absCodes;
+        this.absRequests = new long[absCodes.length];
+        for (int i = 0; i < absCodes.length; i++)
+            absRequests[i] = EVIOCGABS(absCodes[i], ABS_INFO_SIZE).longValue();
+    }
+
     private static long nOpen(String filename, boolean rw) throws IOException {
         if (filename == null)
             return -1;
@@ -286,13 +359,9 @@ final class LinuxEventDevice implements LinuxDevice {
         nWriteEvent(fd, type, code, value);
     }
 
-    private static  void nWriteEvent(long fd, int type, int code, int value) throws IOException {
-        LinuxEvent event = new LinuxEvent();
-        event.type = type;
-        event.code = code;
-        event.value = value;
-
-        if (LinuxIO.INSTANCE.write((int) fd, event.getPointer(), new NativeLong(event.size())).intValue() == -1) {
+    private void nWriteEvent(long fd, int type, int code, int value) throws IOException {
+        LinuxEventBuffer.encode(writeView, 0, type, code, value);
+        if (io.write((int) fd, writeBuffer, writeBuffer.size()) == -1) {
             throw new IOException(String.format("Failed to write to device (%d)", Native.getLastError()));
         }
     }
@@ -351,16 +420,48 @@ final class LinuxEventDevice implements LinuxDevice {
         return version.getValue();
     }
 
+    /**
+     * Events are read in batches of up to {@link LinuxEventBuffer#DEFAULT_CAPACITY},
+     * a read(2) is issued only when the events read before are all consumed.
+     * Events are handed out frame by frame, a frame is not handed out until
+     * its SYN_REPORT is read.
+     * The shadow state is updated by the event. When the kernel dropped events,
+     * the state is read from the device again and the differences from the shadow
+     * are handed out as events after SYN_DROPPED, stamped with the time of SYN_DROPPED.
+     *
+     * @param linuxEvent receives the next event
+     * @return false when no event is available
+     * @see LinuxEventBuffer#next(int, LinuxEvent)
+     */
     public synchronized boolean getNextEvent(LinuxEvent linuxEvent) throws IOException {
         checkClosed();
-        return nGetNextEvent(fd, linuxEvent);
-    }
-
-    private static boolean nGetNextEvent(long fd, LinuxEvent linuxEvent) throws IOException {
-        if (LinuxIO.INSTANCE.read((int) fd, linuxEvent.getPointer(), new NativeLong(linuxEvent.size())).intValue() == -1) {
-            if (Native.getLastError() == EAGAIN)
-                return false;
-            throw new IOException(String.format("Failed to read next device event (%d)", Native.getLastError()));
+        if (pendingIndex < pendingCount) {
+            linuxEvent.set(pendingNanos, pendingTypes[pendingIndex], pendingCodes[pendingIndex], pendingValues[pendingIndex]);
+            pendingIndex++;
+            return true;
+        }
+        if (!readBuffer.next((int) fd, linuxEvent))
+            return false;
+        int code = linuxEvent.getCode();
+        switch (linuxEvent.getType()) {
+        case NativeDefinitions.EV_KEY:
+            if (code <= NativeDefinitions.KEY_MAX) {
+                if (linuxEvent.getValue() != 0) // 2 is auto repeat
+                    keyStates[code / 8] |= (byte) (1 << (code % 8));
+                else
+                    keyStates[code / 8] &= (byte) ~(1 << (code % 8));
+            }
+            break;
+        case NativeDefinitions.EV_ABS:
+            if (code <= NativeDefinitions.ABS_MAX)
+                absValues[code] = linuxEvent.getValue();
+            break;
+        case NativeDefinitions.EV_SYN:
+            if (code == SYN_DROPPED) {
+log.fine("events dropped: " + name);
+                resynchronize(linuxEvent.getNanos());
+            }
+            break;
         }
         return true;
     }
@@ -370,11 +471,12 @@ final class LinuxEventDevice implements LinuxDevice {
         nGetAbsInfo(fd, absAxis, absInfo);
     }
 
-    private static void nGetAbsInfo(long fd, int absAxis, LinuxAbsInfo absInfo) throws IOException {
-        int result = LinuxIO.INSTANCE.ioctl((int) fd, EVIOCGABS(absAxis, absInfo.size()), absInfo.getPointer());
+    private void nGetAbsInfo(long fd, int absAxis, LinuxAbsInfo absInfo) throws IOException {
+        int result = io.ioctl((int) fd, EVIOCGABS(absAxis, absInfo.size()).longValue(), absInfo.getPointer());
         if (result == -1) {
             throw new IOException(String.format("Failed to get abs info for axis (%d)", Native.getLastError()));
         }
+        absInfo.read();
     }
 
     private void addKeys(List<LinuxEventComponent> components) throws IOException {
@@ -462,23 +564,82 @@ final class LinuxEventDevice implements LinuxDevice {
         bits.read(0, evTypeBits, 0, len);
     }
 
-    public synchronized void pollKeyStates() throws IOException {
+    /** reads the state of the device and queues the differences from the shadow state as events */
+    private void resynchronize(long nanos) throws IOException {
+        System.arraycopy(keyStates, 0, keyStatesBefore, 0, keyStates.length);
+        System.arraycopy(absValues, 0, absValuesBefore, 0, absValues.length);
+        resync();
+        int n = 0;
+        for (int i = 0; i < keyStates.length; i++) {
+            int changed = (keyStates[i] ^ keyStatesBefore[i]) & 0xff;
+            while (changed != 0) {
+                int code = i * 8 + Integer.numberOfTrailingZeros(changed);
+                pendingTypes[n] = NativeDefinitions.EV_KEY;
+                pendingCodes[n] = code;
+                pendingValues[n] = isBitSet(keyStates, code) ? 1 : 0;
+                n++;
+                changed &= changed - 1;
+            }
+        }
+        for (int code : absCodes) {
+            if (absValues[code] != absValuesBefore[code]) {
+                pendingTypes[n] = NativeDefinitions.EV_ABS;
+                pendingCodes[n] = code;
+                pendingValues[n] = absValues[code];
+                n++;
+            }
+        }
+        pendingCount = n;
+        pendingIndex = 0;
+        pendingNanos = nanos;
+    }
+
+    /**
+     * Discards the events queued until now and reads the state from the device,
+     * so that the shadow state of a controller opened starts from the device.
+     */
+    public synchronized void reset() throws IOException {
+        checkClosed();
+        readBuffer.clear();
+        while (readBuffer.next((int) fd, discarded));
+        readBuffer.clear(); // a partial frame
+        pendingCount = 0;
+        pendingIndex = 0;
+        resync();
+    }
+
+    /**
+     * Reads the key states and the absolute axis values from the device into the shadow state.
+     * Called on construction, on open and after events are dropped,
+     * the shadow is kept by the events otherwise.
+     */
+    public synchronized void resync() throws IOException {
+        checkClosed();
         nGetKeyStates(fd, keyStates);
+        for (int i = 0; i < absCodes.length; i++) {
+            if (io.ioctl((int) fd, absRequests[i], absBuffer) == -1)
+                throw new IOException(String.format("Failed to get abs info for axis (%d)", Native.getLastError()));
+            absValues[absCodes[i]] = absBuffer.getInt(0); // value
+        }
     }
 
-    private static void nGetKeyStates(long fd, byte[] states) throws IOException {
-        int len = states.length;
-        Memory bits = new Memory(len);
-        int res = LinuxIO.INSTANCE.ioctl((int) fd, EVIOCGKEY(len), bits);
+    private void nGetKeyStates(long fd, byte[] states) throws IOException {
+        int res = io.ioctl((int) fd, keyRequest, keyBuffer);
         if (res == -1)
             throw new IOException(String.format( "Failed to get device key states (%d)", Native.getLastError()));
-        bits.read(0, states, 0, len);
+        keyBuffer.read(0, states, 0, states.length);
     }
 
+    /** @return the shadow state of the key */
     public boolean isKeySet(int bit) {
         return isBitSet(keyStates, bit);
     }
 
+    /** @return the shadow value of the absolute axis */
+    public int getAbsValue(int code) {
+        return absValues[code];
+    }
+
     public static boolean isBitSet(byte[] bits, int bit) {
         return (bits[bit / 8] & (1 << (bit % 8))) != 0;
     }
@@ -501,6 +662,11 @@ final class LinuxEventDevice implements LinuxDevice {
         return deviceName.getString(0, StandardCharsets.UTF_8.name());
     }
 
+    @Override
+    public int getFd() {
+        return (int) fd;
+    }
+
     @Override
     public synchronized void close() throws IOException {
         if (closed)
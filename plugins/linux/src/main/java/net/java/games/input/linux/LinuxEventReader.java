@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.linux;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import net.java.games.input.PollingController;
+
+import static com.sun.jna.platform.linux.ErrNo.EINTR;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static net.java.games.input.linux.LinuxIO.EPOLLERR;
+import static net.java.games.input.linux.LinuxIO.EPOLLHUP;
+import static net.java.games.input.linux.LinuxIO.EPOLLIN;
+import static net.java.games.input.linux.LinuxIO.EPOLLONESHOT;
+import static net.java.games.input.linux.LinuxIO.EPOLL_CLOEXEC;
+import static net.java.games.input.linux.LinuxIO.EPOLL_CTL_ADD;
+import static net.java.games.input.linux.LinuxIO.EPOLL_CTL_DEL;
+import static net.java.games.input.linux.LinuxIO.EPOLL_CTL_MOD;
+import static net.java.games.input.linux.LinuxIO.EPOLL_EVENT_DATA;
+import static net.java.games.input.linux.LinuxIO.EPOLL_EVENT_SIZE;
+import static net.java.games.input.linux.LinuxIO.O_NONBLOCK;
+
+
+/**
+ * The reader of the environment.
+ * <p>
+ * The devices of the open controllers are registered with one epoll instance,
+ * one daemon thread blocks in epoll_wait(2) until some of them have data.
+ * The controllers in push mode, which have input event listeners, are polled
+ * by the thread when their devices are ready, so that they deliver the events
+ * to the listeners. The devices of the controllers in pull mode are watched with
+ * EPOLLONESHOT only to wake up {@link #await(long)}, they are never read by the thread,
+ * the application polls them, and they are armed again by the next {@link #await(long)}.
+ * Nothing is read from an idle device and the thread sleeps while all are idle.
+ * <p>
+ * {@link #await(long)} blocks an application thread until some device is ready.
+ * When epoll_wait(2) fails, or the reader is closed, the thread ends and the pending
+ * {@link #await(long)} fail, the thread starts again for the next watch or await.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+final class LinuxEventReader implements Runnable {
+
+    private static final Logger log = Logger.getLogger(LinuxEventReader.class.getName());
+
+    /** ready devices returned by one epoll_wait(2) at most */
+    private static final int MAX_EVENTS = 32;
+
+    /** a watched device */
+    private static final class Source {
+
+        final int fd;
+        /** the controllers of the device, true for push mode */
+        final Map<PollingController, Boolean> controllers = new ConcurrentHashMap<>();
+        /** struct epoll_event for epoll_ctl(2) */
+        final Memory event = new Memory(EPOLL_EVENT_SIZE);
+
+        Source(int fd) {
+            this.fd = fd;
+            event.clear();
+            event.setLong(EPOLL_EVENT_DATA, fd);
+        }
+
+        /** @return true when no controller is in push mode */
+        boolean isPullOnly() {
+            return !controllers.containsValue(true);
+        }
+
+        /** @return -1 on error */
+        int ctl(int epfd, int op) {
+            event.setInt(0, isPullOnly() ? EPOLLIN | EPOLLONESHOT : EPOLLIN);
+            return LinuxIO.INSTANCE.epoll_ctl(epfd, op, fd, event);
+        }
+    }
+
+    /** watched devices by the file descriptor, the fd is the data of the epoll event */
+    private final Map<Integer, Source> sources = new ConcurrentHashMap<>();
+
+    private int epfd = -1;
+    /** a pipe to wake up the thread on {@link #close()}, the read end is watched with epfd */
+    private final int[] wakeup = {-1, -1};
+
+    private Thread thread;
+
+    /** guards the counts of {@link #await(long)} */
+    private final Object lock = new Object();
+    /** passes which found some ready device */
+    private long readyCount;
+    /** readyCount at the previous return of {@link #await(long)} */
+    private long awaitedCount;
+    /** the number of the times the thread ended */
+    private long stopCount;
+    /** why the thread ended the last time */
+    private String stopReason;
+
+    /**
+     * Watches the devices of the controller while it is open, in push mode or in pull mode.
+     *
+     * @param open false to stop to watch
+     * @param push true to poll the controller by the reader
+     */
+    synchronized void update(PollingController controller, boolean open, boolean push, LinuxDevice... devices) {
+        if (!open) {
+            unregister(controller);
+            return;
+        }
+        if (!start())
+            return;
+        for (LinuxDevice device : devices) {
+            int fd = device.getFd();
+            Source source = sources.get(fd);
+            boolean added = source == null;
+            if (added)
+                source = new Source(fd);
+            source.controllers.put(controller, push);
+            if (source.ctl(epfd, added ? EPOLL_CTL_ADD : EPOLL_CTL_MOD) == -1) {
+                log.warning("Failed to watch device " + controller.getName() + ": " + Native.getLastError());
+                source.controllers.remove(controller);
+                continue;
+            }
+            if (added)
+                sources.put(fd, source);
+        }
+    }
+
+    /**
+     * Starts the thread if it is not running, the devices watched before are watched again.
+     *
+     * @return false on error
+     */
+    private synchronized boolean start() {
+        if (thread != null)
+            return true;
+        epfd = LinuxIO.INSTANCE.epoll_create1(EPOLL_CLOEXEC);
+        if (epfd == -1) {
+            log.warning("Failed to create epoll instance: " + Native.getLastError());
+            return false;
+        }
+        Memory event = new Memory(EPOLL_EVENT_SIZE);
+        event.clear();
+        event.setInt(0, EPOLLIN);
+        if (LinuxIO.INSTANCE.pipe2(wakeup, O_NONBLOCK) == -1) {
+            log.warning("Failed to create wakeup pipe: " + Native.getLastError());
+            LinuxIO.INSTANCE.close(epfd);
+            return false;
+        }
+        event.setLong(EPOLL_EVENT_DATA, wakeup[0]);
+        LinuxIO.INSTANCE.epoll_ctl(epfd, EPOLL_CTL_ADD, wakeup[0], event);
+        for (Source source : sources.values()) {
+            if (source.ctl(epfd, EPOLL_CTL_ADD) == -1) {
+                log.warning("Failed to watch device again: " + Native.getLastError());
+                sources.remove(source.fd);
+            }
+        }
+        thread = new Thread(this, "jinput-linux-reader");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /** called by the thread at the end, fails the pending awaits */
+    private void stop(String reason) {
+        synchronized (this) {
+            LinuxIO.INSTANCE.close(epfd);
+            LinuxIO.INSTANCE.close(wakeup[0]);
+            LinuxIO.INSTANCE.close(wakeup[1]);
+            epfd = -1;
+            thread = null;
+        }
+        synchronized (lock) {
+            stopCount++;
+            stopReason = reason;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Stops the thread and forgets all the devices, the pending awaits fail.
+     * Returns after the thread ended.
+     */
+    void close() {
+        Thread thread;
+        synchronized (this) {
+            sources.clear();
+            thread = this.thread;
+            if (thread == null)
+                return;
+            Memory one = new Memory(1);
+            one.clear();
+            LinuxIO.INSTANCE.write(wakeup[1], one, new NativeLong(1));
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** stops to watch the devices of the controller */
+    synchronized void unregister(PollingController controller) {
+        for (Source source : sources.values()) {
+            if (source.controllers.remove(controller) != null) {
+                if (source.controllers.isEmpty())
+                    drop(source.fd);
+                else
+                    source.ctl(epfd, EPOLL_CTL_MOD);
+            }
+        }
+    }
+
+    /** stops to watch the device, the fd may be closed already */
+    private synchronized void drop(int fd) {
+        if (sources.remove(fd) != null)
+            LinuxIO.INSTANCE.epoll_ctl(epfd, EPOLL_CTL_DEL, fd, null);
+    }
+
+    /**
+     * Arms the devices in pull mode again, those not drained by the application are ready at once.
+     * Starts the thread again if it ended by an error.
+     */
+    private synchronized void rearm() {
+        if (!sources.isEmpty())
+            start();
+        for (Source source : sources.values()) {
+            if (source.isPullOnly())
+                source.ctl(epfd, EPOLL_CTL_MOD);
+        }
+    }
+
+    /**
+     * Blocks until some device is ready.
+     * Devices ready after the previous return and before this call return immediately,
+     * so do devices in pull mode which the application has not drained.
+     *
+     * @param timeout milliseconds, negative to wait forever
+     * @return false when timed out
+     * @throws IllegalStateException the reader stopped while waiting
+     */
+    boolean await(long timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + MILLISECONDS.toNanos(timeout);
+        rearm();
+        synchronized (lock) {
+            long stops = stopCount;
+            while (readyCount == awaitedCount) {
+                if (stopCount != stops)
+                    throw new IllegalStateException("reader stopped: " + stopReason);
+                if (timeout < 0) {
+                    lock.wait();
+                } else {
+                    long rest = deadline - System.nanoTime();
+                    if (rest <= 0)
+                        return false;
+                    NANOSECONDS.timedWait(lock, rest);
+                }
+            }
+            awaitedCount = readyCount;
+            return true;
+        }
+    }
+
+    @Override
+    public void run() {
+        int epfd;
+        int wakeup;
+        synchronized (this) {
+            epfd = this.epfd;
+            wakeup = this.wakeup[0];
+        }
+        Memory events = new Memory((long) EPOLL_EVENT_SIZE * MAX_EVENTS);
+        while (true) {
+            int n = LinuxIO.INSTANCE.epoll_wait(epfd, events, MAX_EVENTS, -1);
+            if (n == -1) {
+                int errno = Native.getLastError();
+                if (errno == EINTR)
+                    continue;
+                log.warning("Failed to wait for devices: " + errno);
+                stop("epoll_wait: " + errno);
+                return;
+            }
+            boolean ready = false;
+            for (int i = 0; i < n; i++) {
+                long offset = (long) EPOLL_EVENT_SIZE * i;
+                int flags = events.getInt(offset);
+                int fd = (int) events.getLong(offset + EPOLL_EVENT_DATA);
+                if (fd == wakeup) {
+                    stop("closed");
+                    return;
+                }
+                Source source = sources.get(fd);
+                if (source == null)
+                    continue; // unregistered while waiting
+                if ((flags & EPOLLIN) != 0) {
+                    for (Map.Entry<PollingController, Boolean> entry : source.controllers.entrySet()) {
+                        if (!entry.getValue())
+                            continue; // the application polls
+                        PollingController controller = entry.getKey();
+                        try {
+                            if (!controller.poll())
+                                unregister(controller);
+                        } catch (RuntimeException e) {
+                            log.log(Level.FINE, "Failed to deliver events: " + e.getMessage(), e);
+                        }
+                    }
+                    ready = true;
+                }
+                if ((flags & (EPOLLERR | EPOLLHUP)) != 0) {
+log.fine("device is gone: " + fd);
+                    drop(fd);
+                }
+            }
+            if (ready) {
+                synchronized (lock) {
+                    readyCount++;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ import java.util.List;
 import com.sun.jna.Library;
 import com.sun.jna.Native;
 import com.sun.jna.NativeLong;
+import com.sun.jna.Platform;
 import com.sun.jna.Pointer;
 import com.sun.jna.Structure;
 import com.sun.jna.platform.linux.Udev;
@@ -35,11 +36,27 @@ public interface LinuxIO extends Library {
     int O_CLOEXEC = 0x0001;
     int O_NONBLOCK = 2048;
 
+    int EPOLL_CLOEXEC = 0x80000;
+    int EPOLL_CTL_ADD = 1;
+    int EPOLL_CTL_DEL = 2;
+    int EPOLL_CTL_MOD = 3;
+    int EPOLLIN = 0x001;
+    int EPOLLERR = 0x008;
+    int EPOLLHUP = 0x010;
+    int EPOLLONESHOT = 0x40000000;
+    /** sizeof(struct epoll_event), packed on x86 */
+    int EPOLL_EVENT_SIZE = Platform.isIntel() ? 12 : 16;
+    /** offsetof(struct epoll_event, data) */
+    int EPOLL_EVENT_DATA = Platform.isIntel() ? 4 : 8;
+
     int KEY_MAX = 0x2ff;
     int ABS_MAX = 0x3f;
     int BTN_MISC = 0x100;
     int ABS_CNT = ABS_MAX + 1;
 
+    int SYN_REPORT = 0;
+    int SYN_DROPPED = 3;
+
     int _IOC_READ = 2;
     int _IOC_WRITE = 4;
 
@@ -214,6 +231,14 @@ public interface LinuxIO extends Library {
 
     int close(int fd);
 
+    int pipe2(int[] fds, int flags);
+
+    int epoll_create1(int flags);
+
+    int epoll_ctl(int epfd, int op, int fd, Pointer /* struct epoll_event */ event);
+
+    int epoll_wait(int epfd, Pointer /* struct epoll_event[] */ events, int maxevents, int timeout);
+
     int ioctl(int fd, NativeLong request, Pointer arg);
 
     int ioctl(int fd, NativeLong request, ByReference arg);
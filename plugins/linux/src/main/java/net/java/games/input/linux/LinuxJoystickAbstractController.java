@@ -38,6 +38,7 @@ import net.java.games.input.AbstractController;
 import net.java.games.input.Component;
 import net.java.games.input.Controller;
 import net.java.games.input.Event;
+import net.java.games.input.EventQueue;
 import net.java.games.input.PollingController;
 import net.java.games.input.Rumbler;
 
@@ -57,11 +58,35 @@ final class LinuxJoystickAbstractController extends PollingController {
         this.device = device;
     }
 
+    LinuxJoystickDevice getDevice() {
+        return device;
+    }
+
     @Override
     protected void setDeviceEventQueueSize(int size) throws IOException {
         device.setBufferSize(size);
     }
 
+    @Override
+    protected void pushModeChanged() {
+        LinuxEnvironmentPlugin.getEventReader().update(this, isOpen(), isPushMode(), device);
+    }
+
+    @Override
+    protected void setDeviceEventQueueOverflowPolicy(EventQueue.OverflowPolicy policy) throws IOException {
+        device.setOverflowPolicy(policy);
+    }
+
+    @Override
+    protected long getDeviceDroppedEventCount() {
+        return device.getDroppedEventCount();
+    }
+
+    @Override
+    protected long getDeviceCoalescedEventCount() {
+        return device.getCoalescedEventCount();
+    }
+
     @Override
     public void pollDevice() throws IOException {
         device.poll();
@@ -33,9 +33,9 @@ import java.util.Map;
 
 import com.sun.jna.Memory;
 import com.sun.jna.Native;
-import com.sun.jna.NativeLong;
 import com.sun.jna.ptr.ByteByReference;
 import com.sun.jna.ptr.IntByReference;
+import net.java.games.input.Component;
 import net.java.games.input.Event;
 import net.java.games.input.EventQueue;
 import net.java.games.input.PollingController;
@@ -72,7 +72,6 @@ final class LinuxJoystickDevice implements LinuxDevice {
     private final String name;
 
     private final LinuxJoystickEvent joystickEvent = new LinuxJoystickEvent();
-    private final Event event = new Event();
     private final LinuxJoystickButton[] buttons;
     private final LinuxJoystickAxis[] axes;
     private final Map<Integer, LinuxJoystickPOV> povXs = new HashMap<>();
@@ -81,6 +80,9 @@ final class LinuxJoystickDevice implements LinuxDevice {
     private final char[] buttonMap;
 
     private EventQueue eventQueue;
+    /** counts of replaced queues */
+    private long droppedCount;
+    private long coalescedCount;
 
     /**
      * Closed state variable that protects the validity of the file descriptor.
@@ -109,21 +111,45 @@ final class LinuxJoystickDevice implements LinuxDevice {
     }
 
     public synchronized void setBufferSize(int size) {
-        eventQueue = new EventQueue(size);
+        replaceEventQueue(new EventQueue(size, eventQueue != null ? eventQueue.getOverflowPolicy() : EventQueue.OverflowPolicy.DROP_NEWEST));
+    }
+
+    public synchronized void setOverflowPolicy(EventQueue.OverflowPolicy policy) {
+        replaceEventQueue(new EventQueue(eventQueue.getCapacity(), policy));
+    }
+
+    private void replaceEventQueue(EventQueue eventQueue) {
+        if (this.eventQueue != null) {
+            droppedCount += this.eventQueue.getDroppedCount();
+            coalescedCount += this.eventQueue.getCoalescedCount();
+        }
+        this.eventQueue = eventQueue;
+    }
+
+    /** @return the number of events lost because the queue was full, including the replaced queues */
+    synchronized long getDroppedEventCount() {
+        return droppedCount + eventQueue.getDroppedCount();
+    }
+
+    /** @return the number of events merged because the queue was full, including the replaced queues */
+    synchronized long getCoalescedEventCount() {
+        return coalescedCount + eventQueue.getCoalescedCount();
     }
 
     private void processEvent(LinuxJoystickEvent joystickEvent) {
         int index = joystickEvent.getNumber();
         // Filter synthetic init event flag
         int type = joystickEvent.getType() & ~JS_EVENT_INIT;
+        Component component;
+        float value;
         switch (type) {
         case JS_EVENT_BUTTON:
             if (index < getNumButtons()) {
                 LinuxJoystickButton button = buttons[index];
                 if (button != null) {
-                    float value = joystickEvent.getValue();
+                    value = joystickEvent.getValue();
                     button.setValue(value);
-                    event.set(button, value, joystickEvent.getNanos());
+                    component = button;
                     break;
                 }
             }
@@ -132,18 +158,20 @@ final class LinuxJoystickDevice implements LinuxDevice {
             if (index < getNumAxes()) {
                 LinuxJoystickAxis axis = axes[index];
                 if (axis != null) {
-                    float value = (float) joystickEvent.getValue() / AXIS_MAX_VALUE;
+                    value = (float) joystickEvent.getValue() / AXIS_MAX_VALUE;
                     axis.setValue(value);
                     if (povXs.containsKey(index)) {
                         LinuxJoystickPOV pov = povXs.get(index);
                         pov.updateValue();
-                        event.set(pov, pov.getPollData(), joystickEvent.getNanos());
+                        component = pov;
+                        value = pov.getPollData();
                     } else if (povYs.containsKey(index)) {
                         LinuxJoystickPOV pov = povYs.get(index);
                         pov.updateValue();
-                        event.set(pov, pov.getPollData(), joystickEvent.getNanos());
+                        component = pov;
+                        value = pov.getPollData();
                     } else {
-                        event.set(axis, value, joystickEvent.getNanos());
+                        component = axis;
                     }
                     break;
                 }
@@ -153,9 +181,7 @@ final class LinuxJoystickDevice implements LinuxDevice {
             // Unknown component type
             return;
         }
-        if (!eventQueue.isFull()) {
-            eventQueue.add(event);
-        }
+        eventQueue.offer(component, value, joystickEvent.getNanos());
     }
 
     public void registerAxis(int index, LinuxJoystickAxis axis) {
@@ -192,13 +218,14 @@ final class LinuxJoystickDevice implements LinuxDevice {
 
     public synchronized void poll() throws IOException {
         checkClosed();
+        eventQueue.flush();
         while (getNextDeviceEvent(joystickEvent)) {
             processEvent(joystickEvent);
         }
     }
 
     private boolean getNextDeviceEvent(LinuxJoystickEvent joystickEvent) throws IOException {
-        if (LinuxIO.INSTANCE.read((int) fd, joystickEvent.getPointer(), new NativeLong(joystickEvent.size())).intValue() == -1) {
+        if (LinuxDeviceIO.INSTANCE.read((int) fd, joystickEvent.getPointer(), joystickEvent.size()) == -1) {
             if (Native.getLastError() == EAGAIN)
                 return false;
             throw new IOException(String.format( "Failed to read next device event (%d)", Native.getLastError()));
@@ -280,6 +307,11 @@ final class LinuxJoystickDevice implements LinuxDevice {
         return deviceName.getString(0, StandardCharsets.UTF_8.name());
     }
 
+    @Override
+    public int getFd() {
+        return (int) fd;
+    }
+
     @Override
     public synchronized void close() throws IOException {
         if (!closed) {
@@ -38,10 +38,11 @@ import com.sun.jna.Structure;
  */
 class LinuxJoystickEvent extends Structure {
 
-    public timeval time;
-    public int value;
-    public int type;
-    public int number;
+    /** struct js_event, timestamp in milliseconds */
+    public int time;
+    public short value;
+    public byte type;
+    public byte number;
 
     public LinuxJoystickEvent() {
     }
@@ -68,14 +69,14 @@ class LinuxJoystickEvent extends Structure {
     }
 
     public final int getType() {
-        return type;
+        return type & 0xff;
     }
 
     public final int getNumber() {
-        return number;
+        return number & 0xff;
     }
 
     public final long getNanos() {
-        return time.toNanos();
+        return (time & 0xffffffffL) * 1_000_000L;
     }
 }
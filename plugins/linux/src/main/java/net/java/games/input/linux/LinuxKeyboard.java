@@ -52,6 +52,7 @@ final class LinuxKeyboard extends Keyboard implements LinuxController {
 
     private final PortType port;
     private final LinuxEventDevice device;
+    private final LinuxEvent linuxEvent = new LinuxEvent();
 
     LinuxKeyboard(LinuxEventDevice device, Component[] components, Controller[] children, Rumbler[] rumblers) throws IOException {
         super(device.getName(), components, children, rumblers);
@@ -64,14 +65,25 @@ final class LinuxKeyboard extends Keyboard implements LinuxController {
         return port;
     }
 
+    @Override
+    public void open() throws IOException {
+        device.reset();
+        super.open();
+    }
+
+    @Override
+    protected void pushModeChanged() {
+        LinuxEnvironmentPlugin.getEventReader().update(this, isOpen(), isPushMode(), device);
+    }
+
     @Override
     protected boolean getNextDeviceEvent(Event event) throws IOException {
-        return getNextDeviceEvent(event, device);
+        return getNextDeviceEvent(event, device, linuxEvent);
     }
 
     @Override
     public void pollDevice() throws IOException {
-        device.pollKeyStates();
+        // the state of the device is shadowed from the events, see LinuxEventDevice#getNextEvent
     }
 
     @Override
@@ -69,9 +69,9 @@ final class LinuxPOV extends LinuxComponent {
 
     @Override
     public float convertValue(float value, LinuxAxisDescriptor descriptor) {
-        if (descriptor == componentX.getDescriptor())
+        if (componentX.getDescriptor().equals(descriptor))
             lastX = value;
-        if (descriptor == componentY.getDescriptor())
+        if (componentY.getDescriptor().equals(descriptor))
             lastY = value;
 
         if (lastX == -1 && lastY == -1)
@@ -43,6 +43,6 @@ public class timeval extends Structure {
     }
 
     public long toNanos() {
-        return tv_usec * 1000 * 1000 + tv_usec * 10 * 1000; // TODO
+        return tv_sec * 1_000_000_000L + tv_usec * 1000L;
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.linux;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.sun.jna.Memory;
+import com.sun.jna.NativeLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static net.java.games.input.linux.LinuxIO.O_NONBLOCK;
+import static net.java.games.input.linux.LinuxIO.SYN_DROPPED;
+import static net.java.games.input.linux.LinuxIO.SYN_REPORT;
+import static net.java.games.input.linux.NativeDefinitions.ABS_X;
+import static net.java.games.input.linux.NativeDefinitions.ABS_Y;
+import static net.java.games.input.linux.NativeDefinitions.EV_ABS;
+import static net.java.games.input.linux.NativeDefinitions.EV_SYN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * LinuxEventBufferTest.
+ * <p>
+ * a pipe stands in for an event device.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+@EnabledOnOs(OS.LINUX)
+class LinuxEventBufferTest {
+
+    final int[] pipe = {-1, -1};
+    final LinuxEvent event = new LinuxEvent();
+
+    @BeforeEach
+    void setup() throws IOException {
+        if (LinuxIO.INSTANCE.pipe2(pipe, O_NONBLOCK) == -1)
+            throw new IOException("pipe2");
+    }
+
+    @AfterEach
+    void teardown() {
+        LinuxIO.INSTANCE.close(pipe[0]);
+        LinuxIO.INSTANCE.close(pipe[1]);
+    }
+
+    /** @param events type, code, value, ... */
+    void write(int... events) {
+        int n = events.length / 3;
+        Memory memory = new Memory((long) LinuxEventBuffer.EVENT_SIZE * n);
+        ByteBuffer buffer = memory.getByteBuffer(0, memory.size()).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < n; i++)
+            LinuxEventBuffer.encode(buffer, i * LinuxEventBuffer.EVENT_SIZE, events[i * 3], events[i * 3 + 1], events[i * 3 + 2]);
+        LinuxIO.INSTANCE.write(pipe[1], memory, new NativeLong(memory.size()));
+    }
+
+    void assertNext(LinuxEventBuffer buffer, int type, int code, int value) throws IOException {
+        assertTrue(buffer.next(pipe[0], event));
+        assertEquals(type, event.getType());
+        assertEquals(code, event.getCode());
+        assertEquals(value, event.getValue());
+    }
+
+    @Test
+    void test1() throws Exception {
+        LinuxEventBuffer buffer = new LinuxEventBuffer(8, LinuxDeviceIO.INSTANCE);
+
+        // a half of a frame is held
+        write(EV_ABS, ABS_X, 1);
+        assertFalse(buffer.next(pipe[0], event));
+
+        write(EV_ABS, ABS_Y, 2, EV_SYN, SYN_REPORT, 0, EV_ABS, ABS_X, 3);
+        assertNext(buffer, EV_ABS, ABS_X, 1);
+        assertNext(buffer, EV_ABS, ABS_Y, 2);
+        assertNext(buffer, EV_SYN, SYN_REPORT, 0);
+        assertFalse(buffer.next(pipe[0], event));
+
+        write(EV_SYN, SYN_REPORT, 0);
+        assertNext(buffer, EV_ABS, ABS_X, 3);
+        assertNext(buffer, EV_SYN, SYN_REPORT, 0);
+        assertFalse(buffer.next(pipe[0], event));
+    }
+
+    @Test
+    void test2() throws Exception {
+        LinuxEventBuffer buffer = new LinuxEventBuffer(16, LinuxDeviceIO.INSTANCE);
+
+        // the partial frame before SYN_DROPPED and the events until the next SYN_REPORT are discarded
+        write(EV_ABS, ABS_X, 1, EV_SYN, SYN_REPORT, 0,
+                EV_ABS, ABS_X, 2,
+                EV_SYN, SYN_DROPPED, 0,
+                EV_ABS, ABS_Y, 3);
+        assertNext(buffer, EV_ABS, ABS_X, 1);
+        assertNext(buffer, EV_SYN, SYN_REPORT, 0);
+        assertFalse(buffer.next(pipe[0], event));
+
+        write(EV_ABS, ABS_X, 4, EV_SYN, SYN_REPORT, 0,
+                EV_ABS, ABS_Y, 5, EV_SYN, SYN_REPORT, 0);
+        assertNext(buffer, EV_SYN, SYN_DROPPED, 0);
+        assertNext(buffer, EV_ABS, ABS_Y, 5);
+        assertNext(buffer, EV_SYN, SYN_REPORT, 0);
+        assertFalse(buffer.next(pipe[0], event));
+    }
+
+    @Test
+    void test3() throws Exception {
+        LinuxEventBuffer buffer = new LinuxEventBuffer(4, LinuxDeviceIO.INSTANCE);
+
+        // frames split by the reads
+        write(EV_ABS, ABS_X, 1, EV_ABS, ABS_Y, 1, EV_SYN, SYN_REPORT, 0,
+                EV_ABS, ABS_X, 2, EV_ABS, ABS_Y, 2, EV_SYN, SYN_REPORT, 0);
+        for (int i = 1; i <= 2; i++) {
+            assertNext(buffer, EV_ABS, ABS_X, i);
+            assertNext(buffer, EV_ABS, ABS_Y, i);
+            assertNext(buffer, EV_SYN, SYN_REPORT, 0);
+        }
+        assertFalse(buffer.next(pipe[0], event));
+
+        // a frame larger than the buffer
+        write(EV_ABS, 0, 0, EV_ABS, 1, 1, EV_ABS, 2, 2, EV_ABS, 3, 3, EV_ABS, 4, 4, EV_SYN, SYN_REPORT, 0);
+        for (int i = 0; i < 5; i++)
+            assertNext(buffer, EV_ABS, i, i);
+        assertNext(buffer, EV_SYN, SYN_REPORT, 0);
+        assertFalse(buffer.next(pipe[0], event));
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.linux;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.sun.jna.Memory;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+import net.java.games.input.Component;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static net.java.games.input.linux.LinuxIO.EVIOCGABS;
+import static net.java.games.input.linux.LinuxIO.O_NONBLOCK;
+import static net.java.games.input.linux.LinuxIO.SYN_DROPPED;
+import static net.java.games.input.linux.LinuxIO.SYN_REPORT;
+import static net.java.games.input.linux.NativeDefinitions.ABS_X;
+import static net.java.games.input.linux.NativeDefinitions.BTN_A;
+import static net.java.games.input.linux.NativeDefinitions.BTN_B;
+import static net.java.games.input.linux.NativeDefinitions.EV_ABS;
+import static net.java.games.input.linux.NativeDefinitions.EV_KEY;
+import static net.java.games.input.linux.NativeDefinitions.EV_SYN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * LinuxEventDeviceTest.
+ * <p>
+ * a pipe stands in for an event device, ioctl(2) is answered by {@link FakeIO}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+@EnabledOnOs(OS.LINUX)
+class LinuxEventDeviceTest {
+
+    /** reads the pipe, answers EVIOCGKEY and EVIOCGABS(ABS_X) from the fields */
+    static class FakeIO implements LinuxDeviceIO {
+
+        /** the key pressed in the device */
+        int key = BTN_A;
+        /** struct input_absinfo of ABS_X */
+        int value = 7, minimum = -100, maximum = 100, fuzz = 1, flat = 2;
+
+        @Override
+        public long read(int fd, Pointer buffer, long size) {
+            return LinuxDeviceIO.INSTANCE.read(fd, buffer, size);
+        }
+
+        @Override
+        public long write(int fd, Pointer buffer, long size) {
+            return LinuxDeviceIO.INSTANCE.write(fd, buffer, size);
+        }
+
+        @Override
+        public int ioctl(int fd, long request, Pointer arg) {
+            int size = (int) (request >>> 16) & 0x3fff;
+            if (request == EVIOCGABS(ABS_X, size).longValue()) {
+                int[] absInfo = {value, minimum, maximum, fuzz, flat, 0};
+                arg.write(0, absInfo, 0, size / Integer.BYTES);
+            } else if ((request & 0xffff) == ('E' << 8 | 0x18)) { // EVIOCGKEY
+                arg.setMemory(0, size, (byte) 0);
+                arg.setByte(key / 8, (byte) (1 << (key % 8)));
+            } else {
+                return -1;
+            }
+            return 0;
+        }
+    }
+
+    final int[] pipe = {-1, -1};
+    final FakeIO io = new FakeIO();
+    final LinuxEvent event = new LinuxEvent();
+    /** closes the read end of the pipe */
+    LinuxEventDevice device;
+
+    @BeforeEach
+    void setup() throws IOException {
+        if (LinuxIO.INSTANCE.pipe2(pipe, O_NONBLOCK) == -1)
+            throw new IOException("pipe2");
+        device = new LinuxEventDevice(pipe[0], new int[] {ABS_X}, io);
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        device.close();
+        LinuxIO.INSTANCE.close(pipe[1]);
+    }
+
+    /** @param events type, code, value, ... */
+    void write(int... events) {
+        int n = events.length / 3;
+        Memory memory = new Memory((long) LinuxEventBuffer.EVENT_SIZE * n);
+        ByteBuffer buffer = memory.getByteBuffer(0, memory.size()).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < n; i++)
+            LinuxEventBuffer.encode(buffer, i * LinuxEventBuffer.EVENT_SIZE, events[i * 3], events[i * 3 + 1], events[i * 3 + 2]);
+        LinuxIO.INSTANCE.write(pipe[1], memory, new NativeLong(memory.size()));
+    }
+
+    void assertNext(int type, int code, int value) throws IOException {
+        assertTrue(device.getNextEvent(event));
+        assertEquals(type, event.getType());
+        assertEquals(code, event.getCode());
+        assertEquals(value, event.getValue());
+    }
+
+    @Test
+    void test1() throws Exception {
+        // events before open are discarded, the state is read from the device
+        write(EV_ABS, ABS_X, 99, EV_SYN, SYN_REPORT, 0);
+        device.reset();
+        assertFalse(device.getNextEvent(event));
+        assertTrue(device.isKeySet(BTN_A));
+        assertEquals(7, device.getAbsValue(ABS_X));
+
+        // the shadow follows the events
+        write(EV_KEY, BTN_A, 0, EV_ABS, ABS_X, 50, EV_SYN, SYN_REPORT, 0);
+        int n = 0;
+        while (device.getNextEvent(event))
+            n++;
+        assertEquals(3, n);
+        assertFalse(device.isKeySet(BTN_A));
+        assertEquals(50, device.getAbsValue(ABS_X));
+    }
+
+    @Test
+    void test2() throws Exception {
+        // the fields of the structure are read from the native memory
+        LinuxAbsInfo absInfo = new LinuxAbsInfo();
+        device.getAbsInfo(ABS_X, absInfo);
+        assertEquals(7, absInfo.getValue());
+        assertEquals(-100, absInfo.getMin());
+        assertEquals(100, absInfo.getMax());
+        assertEquals(1, absInfo.getFuzz());
+        assertEquals(2, absInfo.getFlat());
+    }
+
+    @Test
+    void test3() throws Exception {
+        // components of a device never opened poll the state read on construction
+        LinuxComponent button = new LinuxComponent(new LinuxEventComponent(device, Component.Identifier.Button.A, false, EV_KEY, BTN_A));
+        LinuxComponent axis = new LinuxComponent(new LinuxEventComponent(device, Component.Identifier.Axis.X, false, EV_ABS, ABS_X));
+        assertEquals(1f, button.poll());
+        assertEquals(0.07f, axis.poll(), 1e-6f);
+    }
+
+    @Test
+    void test4() throws Exception {
+        // after the drop exactly the codes changed in the device are queued, at the time of the drop
+        io.key = BTN_B;
+        io.value = 30;
+        write(EV_SYN, SYN_DROPPED, 0, EV_ABS, ABS_X, 99, EV_SYN, SYN_REPORT, 0);
+        assertNext(EV_SYN, SYN_DROPPED, 0);
+        long nanos = event.getNanos();
+        assertNext(EV_KEY, BTN_A, 0);
+        assertEquals(nanos, event.getNanos());
+        assertNext(EV_KEY, BTN_B, 1);
+        assertNext(EV_ABS, ABS_X, 30);
+        assertEquals(nanos, event.getNanos());
+        assertFalse(device.getNextEvent(event));
+        assertFalse(device.isKeySet(BTN_A));
+        assertTrue(device.isKeySet(BTN_B));
+        assertEquals(30, device.getAbsValue(ABS_X));
+
+        // unchanged codes queue nothing
+        write(EV_SYN, SYN_DROPPED, 0, EV_SYN, SYN_REPORT, 0);
+        assertNext(EV_SYN, SYN_DROPPED, 0);
+        assertFalse(device.getNextEvent(event));
+
+        // only the axis changed
+        io.value = -5;
+        write(EV_SYN, SYN_DROPPED, 0, EV_SYN, SYN_REPORT, 0);
+        assertNext(EV_SYN, SYN_DROPPED, 0);
+        assertNext(EV_ABS, ABS_X, -5);
+        assertFalse(device.getNextEvent(event));
+    }
+}
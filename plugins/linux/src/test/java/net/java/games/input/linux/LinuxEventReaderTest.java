@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package net.java.games.input.linux;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.jna.Memory;
+import com.sun.jna.NativeLong;
+import net.java.games.input.Component;
+import net.java.games.input.Controller;
+import net.java.games.input.Event;
+import net.java.games.input.PollingController;
+import net.java.games.input.Rumbler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static net.java.games.input.linux.LinuxIO.O_NONBLOCK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * LinuxEventReaderTest.
+ * <p>
+ * pipes stand in for the devices.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-18 nsano initial version <br>
+ */
+@EnabledOnOs(OS.LINUX)
+class LinuxEventReaderTest {
+
+    final LinuxEventReader reader = new LinuxEventReader();
+
+    @AfterEach
+    void teardown() {
+        reader.close();
+    }
+
+    /** the read end of a pipe */
+    static class PipeDevice implements LinuxDevice {
+
+        final int[] fds = new int[2];
+
+        PipeDevice() throws IOException {
+            if (LinuxIO.INSTANCE.pipe2(fds, O_NONBLOCK) == -1)
+                throw new IOException("pipe2");
+        }
+
+        void write(int bytes) {
+            Memory buffer = new Memory(bytes);
+            buffer.clear();
+            LinuxIO.INSTANCE.write(fds[1], buffer, new NativeLong(bytes));
+        }
+
+        @Override
+        public void close() {
+            LinuxIO.INSTANCE.close(fds[0]);
+            LinuxIO.INSTANCE.close(fds[1]);
+        }
+
+        @Override
+        public int getFd() {
+            return fds[0];
+        }
+    }
+
+    /** drains the pipe and counts the polls */
+    static class PipeController extends PollingController {
+
+        final PipeDevice device;
+        final AtomicInteger polls = new AtomicInteger();
+        final Memory buffer = new Memory(64);
+
+        PipeController(PipeDevice device) {
+            super("pipe", new Component[0], new Controller[0], new Rumbler[0]);
+            this.device = device;
+        }
+
+        @Override
+        protected void pollDevice() {
+            polls.incrementAndGet();
+            while (LinuxIO.INSTANCE.read(device.getFd(), buffer, new NativeLong(buffer.size())).longValue() > 0);
+        }
+
+        @Override
+        protected boolean getNextDeviceEvent(Event event) {
+            return false;
+        }
+
+        @Override
+        public void output(Report report) {
+        }
+    }
+
+    @Test
+    void test1() throws Exception {
+        PipeDevice device = new PipeDevice();
+        PipeController controller = new PipeController(device);
+        try {
+            reader.update(controller, true, true, device);
+            assertFalse(reader.await(50));
+            assertEquals(0, controller.polls.get());
+
+            device.write(1);
+            assertTrue(reader.await(1000));
+            assertEquals(1, controller.polls.get());
+
+            // drained, nothing to wake up for
+            assertFalse(reader.await(50));
+            assertEquals(1, controller.polls.get());
+        } finally {
+            reader.unregister(controller);
+            device.close();
+        }
+    }
+
+    @Test
+    void test2() throws Exception {
+        PipeDevice device1 = new PipeDevice();
+        PipeDevice device2 = new PipeDevice();
+        PipeController controller1 = new PipeController(device1);
+        PipeController controller2 = new PipeController(device2);
+        try {
+            reader.update(controller1, true, true, device1);
+            reader.update(controller2, true, true, device2);
+
+            // only the ready device is polled
+            device2.write(24);
+            assertTrue(reader.await(1000));
+            assertEquals(0, controller1.polls.get());
+            assertEquals(1, controller2.polls.get());
+
+            // unregistered device is not polled
+            reader.unregister(controller2);
+            device2.write(24);
+            assertFalse(reader.await(50));
+            assertEquals(1, controller2.polls.get());
+        } finally {
+            reader.unregister(controller1);
+            device1.close();
+            device2.close();
+        }
+    }
+
+    @Test
+    void test3() throws Exception {
+        PipeDevice device = new PipeDevice();
+        PipeController controller = new PipeController(device);
+        try {
+            // pull mode, the reader wakes up but never polls
+            reader.update(controller, true, false, device);
+            device.write(1);
+            assertTrue(reader.await(1000));
+            assertEquals(0, controller.polls.get());
+
+            // not drained by the application, ready again
+            assertTrue(reader.await(1000));
+            assertEquals(0, controller.polls.get());
+
+            controller.pollDevice();
+            assertFalse(reader.await(50));
+
+            // to push mode
+            reader.update(controller, true, true, device);
+            device.write(1);
+            assertTrue(reader.await(1000));
+            assertEquals(2, controller.polls.get());
+        } finally {
+            reader.unregister(controller);
+            device.close();
+        }
+    }
+
+    @Test
+    void test4() throws Exception {
+        PipeDevice device = new PipeDevice();
+        PipeController controller = new PipeController(device);
+        try {
+            reader.update(controller, true, false, device);
+            Thread closer = new Thread(() -> {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ignored) {
+                }
+                reader.close();
+            });
+            closer.start();
+            // a pending await fails
+            assertThrows(IllegalStateException.class, () -> reader.await(5000));
+            closer.join();
+
+            // starts again
+            reader.update(controller, true, true, device);
+            device.write(1);
+            assertTrue(reader.await(1000));
+            assertEquals(1, controller.polls.get());
+        } finally {
+            device.close();
+        }
+    }
+}